@@ -34,7 +34,7 @@ df = pd.DataFrame(data)
 print(f"Loaded {len(df)} samples")
 
 # ==========================================
-# 2. DEFINE FEATURES (Exactly 6 items)
+# 2. DEFINE FEATURES (6 items, 10 with box terrain)
 # ==========================================
 # These must match the order in DataExporter.java
 features = [
@@ -46,6 +46,29 @@ features = [
     'pct_wall'           # Index 5
 ]
 
+# Terrain in the bounding box between node and goal (newer data only).
+# Read per node by the Java heuristics from GridMap's summed-area tables.
+box_features = [
+    'box_pct_maintenance',  # Index 6
+    'box_pct_hightraffic',  # Index 7
+    'box_pct_shortcut',     # Index 8
+    'box_pct_wall'          # Index 9
+]
+has_box = all(col in df.columns for col in box_features)
+if has_box and not df[box_features].notna().all().all():
+    # training_data.jsonl is appended across runs, so older rows may lack the box columns
+    complete = df[box_features].notna().all(axis=1)
+    if complete.any():
+        print(f"Dropped {int((~complete).sum())} rows recorded without box terrain features")
+        df = df[complete]
+    else:
+        has_box = False
+if has_box:
+    features = features + box_features
+    print("Using box terrain features (10 inputs)")
+else:
+    print("Box terrain features not in data: regenerate it to use them (6 inputs)")
+
 # Check if columns exist (Safety check)
 missing_cols = [col for col in features if col not in df.columns]
 if missing_cols:
@@ -219,11 +242,11 @@ for model_name in linear_models:
             original_indices = [i for i, name in enumerate(feature_names) 
                               if name.count(' ') == 0]  # Original features have no spaces (no interactions)
             
-            if len(original_indices) >= 6:
-                coef = regressor.coef_[original_indices[:6]]
+            if len(original_indices) >= len(features):
+                coef = regressor.coef_[original_indices[:len(features)]]
             else:
-                # Fallback: use first 6 coefficients
-                coef = regressor.coef_[:6]
+                # Fallback: use the first coefficients
+                coef = regressor.coef_[:len(features)]
             intercept = regressor.intercept_
         else:
             # Standard linear model
@@ -231,8 +254,8 @@ for model_name in linear_models:
             intercept = model.intercept_
         
         # Validate coefficients
-        if len(coef) < 6:
-            raise ValueError(f"Expected 6 coefficients, got {len(coef)}")
+        if len(coef) < len(features):
+            raise ValueError(f"Expected {len(features)} coefficients, got {len(coef)}")
         
         # Save weights to file
         output_path = f"ml_weights_{model_name.lower()}.properties"
@@ -242,7 +265,7 @@ for model_name in linear_models:
             f.write(f"# Model Type: {model_name}\n")
             f.write(f"# Trained on {len(X)} samples\n")
             f.write(f"# Test R² Score: {metrics['test_r2']:.4f}, RMSE: {metrics['test_rmse']:.4f}, MAE: {metrics['test_mae']:.4f}\n")
-            f.write(f"# Feature order: manhattan_dist, euclidean_dist, pct_maintenance, pct_hightraffic, pct_shortcut, pct_wall\n")
+            f.write(f"# Feature order: {', '.join(features)}\n")
             f.write("\n")
             f.write(f"MODEL_TYPE={model_name}\n")
             f.write(f"W_MANHATTAN={coef[0]:.6f}\n")
@@ -251,6 +274,11 @@ for model_name in linear_models:
             f.write(f"W_TRAFFIC={coef[3]:.6f}\n")
             f.write(f"W_SHORTCUT={coef[4]:.6f}\n")
             f.write(f"W_WALL={coef[5]:.6f}\n")
+            if len(features) > 6:
+                f.write(f"W_BOX_MAINTENANCE={coef[6]:.6f}\n")
+                f.write(f"W_BOX_TRAFFIC={coef[7]:.6f}\n")
+                f.write(f"W_BOX_SHORTCUT={coef[8]:.6f}\n")
+                f.write(f"W_BOX_WALL={coef[9]:.6f}\n")
             f.write(f"INTERCEPT={intercept:.6f}\n")
         
         print(f"  ✓ Saved {model_name} -> {output_path} (R²: {metrics['test_r2']:.4f})")
@@ -286,14 +314,14 @@ if 'MLP' in trained_models:
         with open(output_path, "w") as f:
             f.write("# MLP (Multi-Layer Perceptron) Neural Network Weights\n")
             f.write(f"# Model Type: MLP\n")
-            f.write(f"# Architecture: 6 -> 8 -> 4 -> 1\n")
+            f.write(f"# Architecture: {len(features)} -> 8 -> 4 -> 1\n")
             f.write(f"# Activation: relu\n")
             f.write(f"# Trained on {len(X)} samples\n")
             f.write(f"# Test R² Score: {mlp_metrics['test_r2']:.4f}, RMSE: {mlp_metrics['test_rmse']:.4f}\n")
-            f.write(f"# Feature order: manhattan_dist, euclidean_dist, pct_maintenance, pct_hightraffic, pct_shortcut, pct_wall\n")
+            f.write(f"# Feature order: {', '.join(features)}\n")
             f.write("\n")
             f.write("MODEL_TYPE=MLP\n")
-            f.write(f"INPUT_SIZE=6\n")
+            f.write(f"INPUT_SIZE={len(features)}\n")
             f.write(f"HIDDEN1_SIZE=8\n")
             f.write(f"HIDDEN2_SIZE=4\n")
             f.write(f"OUTPUT_SIZE=1\n")
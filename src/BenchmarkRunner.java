@@ -15,6 +15,12 @@ public class BenchmarkRunner {
     private static final int SIZE_STEP = 10;
     private static final int ITERATIONS_PER_CONFIG = 5;
     
+    // Deadline for the anytime search (ARA*): long enough to converge on small maps
+    private static final long ANYTIME_DEADLINE_MS = 50;
+
+    // Time limit for IDA*: its passes repeat the whole search, so a small table can take hours
+    private static final long IDA_TIMEOUT_MS = 1000;
+
     // Seed for generating deterministic map seeds
     private static final long MASTER_SEED = 42L;
 
@@ -41,7 +47,7 @@ public class BenchmarkRunner {
 
                     // --- STEP 1: Generate Map & Establish Ground Truth ---
                     GridMap map = null;
-                    SolverResult groundTruth = null;
+                    GoalDistanceField groundTruth = null;
                     boolean validMap = false;
                     int attempts = 0;
                     long mapSeed = 0;
@@ -54,11 +60,11 @@ public class BenchmarkRunner {
                         map = new GridMap();
                         map.generateRandom(size, size, diff, mapSeed);
 
-                        AStar validator = new AStar();
-                        // Use SCALED_MANHATTAN for the definitive 'True Cost'
-                        groundTruth = validator.solve(map, HeuristicType.SCALED_MANHATTAN);
+                        // Definitive 'True Cost': exact reverse Dijkstra from the goal, which also
+                        // answers any other start on this map for free
+                        groundTruth = GoalDistanceField.build(map);
 
-                        if (groundTruth.isSuccess) {
+                        if (groundTruth.costFrom(map.getStartX(), map.getStartY()) < Double.POSITIVE_INFINITY) {
                             validMap = true;
                             // Generate deterministic mapId based on seed
                             mapId = String.format("%08x", mapSeed).substring(0, 8);
@@ -70,7 +76,7 @@ public class BenchmarkRunner {
                         continue;
                     }
 
-                    double trueOptimalCost = groundTruth.totalCost;
+                    double trueOptimalCost = groundTruth.costFrom(map.getStartX(), map.getStartY());
                     System.out.println("GT Cost: " + (int)trueOptimalCost + " (Seed: " + mapSeed + ")");
                     
                     // --- STORE MAP CONFIGURATION FOR SHARED USE ---
@@ -86,7 +92,63 @@ public class BenchmarkRunner {
                             trueOptimalCost
                     );
 
+                    exporter.writeBenchmarkRecord(
+                            mapId, "GoalField-Build", "NONE",
+                            String.valueOf(size), diff.name(), -1,
+                            true, "BUILT",
+                            trueOptimalCost, trueOptimalCost,
+                            0, 0,
+                            groundTruth.getBuildTimeNs(),
+                            -1,
+                            -1, groundTruth.footprintBytes() // Table bytes
+                    );
+
+                    // --- HPA* abstraction: built once per map, shared by every heuristic below ---
+                    ClusterAbstraction abstraction = ClusterAbstraction.build(map, HPAStar.DEFAULT_CLUSTER_SIZE);
+                    HPAStar hpaStar = new HPAStar(abstraction);
+                    exporter.writeBenchmarkRecord(
+                            mapId, "HPAStar-Build", "NONE",
+                            String.valueOf(size), diff.name(), -1,
+                            true, "BUILT",
+                            0.0, trueOptimalCost,
+                            abstraction.getNodeCount(), 0, // Abstract nodes
+                            abstraction.getBuildTimeNs(),
+                            -1,
+                            -1, abstraction.footprintBytes() // Table bytes
+                    );
+
+                    // --- ALT landmarks: tables built once per map, then queried like any heuristic ---
+                    LandmarkHeuristic landmarks = LandmarkHeuristic.build(map, LandmarkHeuristic.DEFAULT_LANDMARKS);
+                    exporter.writeBenchmarkRecord(
+                            mapId, "ALT-Build", "LANDMARK_ALT",
+                            String.valueOf(size), diff.name(), -1,
+                            true, "BUILT",
+                            0.0, trueOptimalCost,
+                            landmarks.getLandmarkCount(), 0, // Landmarks
+                            landmarks.getPreprocessingTimeNs(),
+                            -1,
+                            -1, landmarks.footprintBytes() // Table bytes
+                    );
+                    writePreprocessedRuns(exporter, mapId, map, diff, trueOptimalCost, landmarks, "LANDMARK_ALT");
+
+                    // --- Coarse-grid abstraction: exact block distances to this map's goal ---
+                    CoarseGridHeuristic coarseGrid = CoarseGridHeuristic.build(map, CoarseGridHeuristic.DEFAULT_BLOCK_SIZE);
+                    exporter.writeBenchmarkRecord(
+                            mapId, "CoarseGrid-Build", "COARSE_GRID",
+                            String.valueOf(size), diff.name(), -1,
+                            true, "BUILT",
+                            0.0, trueOptimalCost,
+                            coarseGrid.getBlockCount(), 0, // Blocks
+                            coarseGrid.getPreprocessingTimeNs(),
+                            -1,
+                            -1, coarseGrid.footprintBytes() // Table bytes
+                    );
+                    writePreprocessedRuns(exporter, mapId, map, diff, trueOptimalCost, coarseGrid, "COARSE_GRID");
+
                     // --- STEP 2: Heuristic Loop ---
+                    long regenerated = 0;
+                    long cacheHits = 0;
+                    long cacheQueries = 0;
                     for (HeuristicType hType : HeuristicType.values()) {
 
                         // A. Run A* with this Heuristic
@@ -110,6 +172,116 @@ public class BenchmarkRunner {
                                 aStarRes.memoryUsed
                         );
 
+                        // A2. Same search on the primitive, index-keyed engine (speedup comparison),
+                        // once per Open Set implementation (lazy duplicates vs decrease-key).
+                        // No GC control needed: the thread's SearchContext is reused, so these runs
+                        // allocate next to nothing.
+                        for (OpenListType openType : OpenListType.values()) {
+                            if (openType.resolveFor(hType) != openType) {
+                                continue; // Would fall back to another row's Open Set
+                            }
+
+                            IndexedAStar indexedAStar = new IndexedAStar(openType);
+                            SolverResult indexedRes = indexedAStar.solve(map, hType);
+
+                            exporter.writeBenchmarkRecord(
+                                    mapId, "IndexedAStar-" + openType.name(), hType.name(),
+                                    String.valueOf(size), diff.name(), -1,
+                                    indexedRes.isSuccess, indexedRes.isSuccess ? "SUCCESS" : "FAILED",
+                                    indexedRes.totalCost, trueOptimalCost,
+                                    indexedRes.nodesExpanded, 0,
+                                    indexedRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                    indexedRes.memoryUsed
+                            );
+                        }
+
+                        // A3. Bidirectional A* (MM), same SearchContext reuse as above
+                        BidirectionalAStar bidirectional = new BidirectionalAStar();
+                        SolverResult biRes = bidirectional.solve(map, hType);
+
+                        exporter.writeBenchmarkRecord(
+                                mapId, "BidirectionalAStar", hType.name(),
+                                String.valueOf(size), diff.name(), -1,
+                                biRes.isSuccess, biRes.isSuccess ? "SUCCESS" : "FAILED",
+                                biRes.totalCost, trueOptimalCost,
+                                biRes.nodesExpanded, 0,
+                                biRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                biRes.memoryUsed
+                        );
+
+                        // A4. HPA* query on the shared abstraction (build time is reported above).
+                        // Timed here in ns: queries are usually well under a millisecond.
+                        long hpaStart = System.nanoTime();
+                        SolverResult hpaRes = hpaStar.solve(map, hType);
+                        long hpaTimeNs = System.nanoTime() - hpaStart;
+
+                        exporter.writeBenchmarkRecord(
+                                mapId, "HPAStar", hType.name(),
+                                String.valueOf(size), diff.name(), -1,
+                                hpaRes.isSuccess, hpaRes.isSuccess ? "SUCCESS" : "FAILED",
+                                hpaRes.totalCost, trueOptimalCost,
+                                hpaRes.nodesExpanded, 0,
+                                hpaTimeNs,
+                                hpaRes.memoryUsed
+                        );
+
+                        // A5. ARA* under a deadline: the final row, plus every improving solution
+                        // on the quality-vs-time curve
+                        AnytimeSolverResult araRes = new ARAStar().solve(map, hType, ANYTIME_DEADLINE_MS);
+                        // A path found before the deadline counts as a success (its bound is on the curve)
+                        String araStatus = araRes.isSuccess ? "SUCCESS" : (araRes.timedOut ? "TIMEOUT" : "FAILED");
+
+                        exporter.writeBenchmarkRecord(
+                                mapId, "ARAStar", hType.name(),
+                                String.valueOf(size), diff.name(), -1,
+                                araRes.isSuccess, araStatus,
+                                araRes.totalCost, trueOptimalCost,
+                                araRes.nodesExpanded, 0,
+                                araRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                araRes.memoryUsed
+                        );
+                        for (int solution = 0; solution < araRes.improvements.size(); solution++) {
+                            AnytimeSolverResult.Improvement step = araRes.improvements.get(solution);
+                            exporter.writeAnytimeRecord(
+                                    mapId, "ARAStar", hType.name(),
+                                    String.valueOf(size), diff.name(), ANYTIME_DEADLINE_MS,
+                                    solution + 1, step.weight,
+                                    step.cost, trueOptimalCost, step.bound,
+                                    step.elapsedNs, step.nodesExpanded
+                            );
+                        }
+
+                        // A6. Focal search: this heuristic steers, SCALED_MANHATTAN certifies
+                        // cost <= w * optimum (same SearchContext reuse as above)
+                        SolverResult focalRes = new FocalSearch().solve(map, hType);
+
+                        exporter.writeBenchmarkRecord(
+                                mapId, "FocalSearch", hType.name(),
+                                String.valueOf(size), diff.name(), -1,
+                                focalRes.isSuccess, focalRes.isSuccess ? "SUCCESS" : "FAILED",
+                                focalRes.totalCost, trueOptimalCost,
+                                focalRes.nodesExpanded, 0,
+                                focalRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                focalRes.memoryUsed
+                        );
+
+                        // A7. A* again through a per-cell estimate cache: repeat queries (a G-score
+                        // improving on a known cell) are served from the table
+                        CachingHeuristic cached = new CachingHeuristic(hType);
+                        SolverResult cachedRes = new AStar().solve(map, cached);
+                        cacheHits += cached.getHits();
+                        cacheQueries += cached.getHits() + cached.getMisses();
+
+                        exporter.writeBenchmarkRecord(
+                                mapId, "AStar", hType.name() + "_CACHED",
+                                String.valueOf(size), diff.name(), -1,
+                                cachedRes.isSuccess, cachedRes.isSuccess ? "SUCCESS" : "FAILED",
+                                cachedRes.totalCost, trueOptimalCost,
+                                cachedRes.nodesExpanded, 0,
+                                cachedRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                cachedRes.memoryUsed
+                        );
+
                         // B. Run SMA* Curve for this Heuristic
                         // FIXED: Use size-based timeout instead of heuristic-dependent timeout
                         // This ensures fair comparison across all heuristics
@@ -119,6 +291,36 @@ public class BenchmarkRunner {
                         int startNodes = Math.max(1, aStarRes.nodesExpanded);
                         int minPath = (aStarRes.path != null) ? aStarRes.path.size() : 0;
 
+                        // Byte budgets: what the record arena would need to hold A*'s whole search
+                        long startBytes = ArenaSMAStar.bytesFor(Math.max(1, aStarRes.memoryUsed));
+                        long minBytes = ArenaSMAStar.bytesFor(minPath + 5);
+
+                        // B0. Memory-light baselines outside the sweep: plain IDA* only holds its
+                        // current path, Fringe Search caches g for every cell it reaches
+                        SolverResult idaRes = new IDAStar().solve(map, hType, IDA_TIMEOUT_MS);
+
+                        exporter.writeBenchmarkRecord(
+                                mapId, "IDAStar", hType.name(),
+                                String.valueOf(size), diff.name(), -1,
+                                idaRes.isSuccess, smaStatus(idaRes, IDA_TIMEOUT_MS),
+                                idaRes.totalCost, trueOptimalCost,
+                                idaRes.nodesExpanded, 0,
+                                idaRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                idaRes.memoryUsed
+                        );
+
+                        SolverResult fringeRes = new FringeSearch().solve(map, hType, smaTimeout);
+
+                        exporter.writeBenchmarkRecord(
+                                mapId, "FringeSearch", hType.name(),
+                                String.valueOf(size), diff.name(), -1,
+                                fringeRes.isSuccess, smaStatus(fringeRes, smaTimeout),
+                                fringeRes.totalCost, trueOptimalCost,
+                                fringeRes.nodesExpanded, 0,
+                                fringeRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                fringeRes.memoryUsed
+                        );
+
                         // Memory Loop (10% -> 100%)
                         for (int percent = 10; percent <= 100; percent += 10) {
                             double fraction = percent / 100.0;
@@ -132,31 +334,85 @@ public class BenchmarkRunner {
                             SMAStar sma = new SMAStar(memLimit);
                             SolverResult smaRes = sma.solve(map, hType, smaTimeout);
 
-                            // Determine actual status
-                            String status;
-                            if (smaRes.isSuccess) {
-                                status = "SUCCESS";
-                            } else if (smaRes.timeElapsedMs >= smaTimeout) {
-                                status = "TIMEOUT";
-                            } else {
-                                status = "EXHAUSTED";
-                            }
-
                             exporter.writeBenchmarkRecord(
                                     mapId, "SMAStar", hType.name(),
                                     String.valueOf(size), diff.name(), memLimit,
-                                    smaRes.isSuccess, status,
+                                    smaRes.isSuccess, smaStatus(smaRes, smaTimeout),
                                     smaRes.totalCost, trueOptimalCost,
                                     smaRes.nodesExpanded, smaRes.prunedNodes,
                                     smaRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
                                     smaRes.memoryUsed
                             );
 
+                            // B2. Complete SMA* with the same budget (counted over every tree node).
+                            // It backs up forgotten F-costs, so its regenerations measure the thrashing.
+                            FullSMAStar fullSma = new FullSMAStar(memLimit);
+                            SolverResult fullRes = fullSma.solve(map, hType, smaTimeout);
+                            regenerated += fullRes.regeneratedNodes;
+
+                            exporter.writeBenchmarkRecord(
+                                    mapId, "FullSMAStar", hType.name(),
+                                    String.valueOf(size), diff.name(), memLimit,
+                                    fullRes.isSuccess, smaStatus(fullRes, smaTimeout),
+                                    fullRes.totalCost, trueOptimalCost,
+                                    fullRes.nodesExpanded, fullRes.prunedNodes,
+                                    fullRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                    fullRes.memoryUsed
+                            );
+
+                            // B3. Disk-backed A* with the same in-heap limit: spills instead of pruning
+                            ExternalMemoryAStar external = new ExternalMemoryAStar(memLimit);
+                            SolverResult externalRes = external.solve(map, hType, smaTimeout);
+
+                            exporter.writeBenchmarkRecord(
+                                    mapId, "ExternalMemoryAStar", hType.name(),
+                                    String.valueOf(size), diff.name(), memLimit,
+                                    externalRes.isSuccess, smaStatus(externalRes, smaTimeout),
+                                    externalRes.totalCost, trueOptimalCost,
+                                    externalRes.nodesExpanded, externalRes.prunedNodes, // Spilled, not lost
+                                    externalRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                    externalRes.memoryUsed
+                            );
+
+                            // B4. Same sweep with the budget in bytes (preallocated record arena)
+                            long budgetBytes = Math.max(minBytes, (long) (startBytes * fraction));
+                            ArenaSMAStar arenaSma = new ArenaSMAStar(budgetBytes);
+                            SolverResult arenaRes = arenaSma.solve(map, hType, smaTimeout);
+
+                            // Budget and peak go in the byte columns; the node columns stay at -1
+                            exporter.writeBenchmarkRecord(
+                                    mapId, "ArenaSMAStar", hType.name(),
+                                    String.valueOf(size), diff.name(), -1,
+                                    arenaRes.isSuccess, smaStatus(arenaRes, smaTimeout),
+                                    arenaRes.totalCost, trueOptimalCost,
+                                    arenaRes.nodesExpanded, arenaRes.prunedNodes,
+                                    arenaRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                    -1,
+                                    budgetBytes, arenaRes.memoryUsed // Peak bytes
+                            );
+
+                            // B5. IDA* with a transposition table of the same number of cells
+                            IDAStar idaTable = new IDAStar(memLimit);
+                            SolverResult idaTableRes = idaTable.solve(map, hType, IDA_TIMEOUT_MS);
+
+                            exporter.writeBenchmarkRecord(
+                                    mapId, "IDAStar-TT", hType.name(),
+                                    String.valueOf(size), diff.name(), memLimit,
+                                    idaTableRes.isSuccess, smaStatus(idaTableRes, IDA_TIMEOUT_MS),
+                                    idaTableRes.totalCost, trueOptimalCost,
+                                    idaTableRes.nodesExpanded, 0,
+                                    idaTableRes.timeElapsedMs * 1_000_000L, // Convert ms to ns
+                                    idaTableRes.memoryUsed // Path + table entries in use
+                            );
+
                             if (smaRes.isSuccess && smaRes.prunedNodes == 0) {
                                 break;
                             }
                         }
                     }
+                    System.out.println("      FullSMA* regenerated " + regenerated + " forgotten nodes on this map.");
+                    System.out.printf("      Heuristic cache served %.1f%% of A* estimates from its table.%n",
+                            cacheQueries == 0 ? 0.0 : 100.0 * cacheHits / cacheQueries);
                 }
             }
         }
@@ -178,6 +434,44 @@ public class BenchmarkRunner {
         }
     }
 
+    /**
+     * Runs IndexedAStar with a heuristic built for this map (once per Open Set it supports) and
+     * writes one row each, timed in ns: preprocessing is reported by its own Build row.
+     */
+    private static void writePreprocessedRuns(DataExporter exporter, String mapId, GridMap map, Difficulty diff,
+                                              double trueOptimalCost, Heuristic heuristic, String heuristicName) {
+        for (OpenListType openType : OpenListType.values()) {
+            if (openType.resolveFor(heuristic) != openType) {
+                continue; // Would fall back to another row's Open Set
+            }
+            long runStart = System.nanoTime();
+            SolverResult res = new IndexedAStar(openType).solve(map, heuristic);
+            long runTimeNs = System.nanoTime() - runStart;
+
+            exporter.writeBenchmarkRecord(
+                    mapId, "IndexedAStar-" + openType.name(), heuristicName,
+                    String.valueOf(map.getWidth()), diff.name(), -1,
+                    res.isSuccess, res.isSuccess ? "SUCCESS" : "FAILED",
+                    res.totalCost, trueOptimalCost,
+                    res.nodesExpanded, 0,
+                    runTimeNs,
+                    res.memoryUsed
+            );
+        }
+    }
+
+    /**
+     * Distinguishes a time-limit failure from an exhausted search space.
+     */
+    private static String smaStatus(SolverResult result, long timeoutMs) {
+        if (result.isSuccess) {
+            return "SUCCESS";
+        } else if (result.timeElapsedMs >= timeoutMs) {
+            return "TIMEOUT";
+        }
+        return "EXHAUSTED";
+    }
+
     private void warmUp() {
         System.out.print("Warming up JVM (50 iterations for JIT compilation)...");
         // Run multiple iterations to allow JIT compiler to optimize hot code paths
@@ -185,6 +479,18 @@ public class BenchmarkRunner {
             GridMap map = new GridMap();
             map.generateRandom(20, 20, Difficulty.EASY);
             new AStar().solve(map, HeuristicType.SCALED_MANHATTAN);
+            new AStar().solve(map, new CachingHeuristic(HeuristicType.SCALED_MANHATTAN));
+            for (OpenListType openType : OpenListType.values()) {
+                new IndexedAStar(openType).solve(map, HeuristicType.SCALED_MANHATTAN);
+            }
+            new BidirectionalAStar().solve(map, HeuristicType.SCALED_MANHATTAN);
+            new HPAStar(ClusterAbstraction.build(map, HPAStar.DEFAULT_CLUSTER_SIZE)).solve(map, HeuristicType.SCALED_MANHATTAN);
+            new IndexedAStar(OpenListType.BUCKET_QUEUE).solve(map, LandmarkHeuristic.build(map, LandmarkHeuristic.DEFAULT_LANDMARKS));
+            new IndexedAStar(OpenListType.BUCKET_QUEUE).solve(map, CoarseGridHeuristic.build(map, CoarseGridHeuristic.DEFAULT_BLOCK_SIZE));
+            new ARAStar().solve(map, HeuristicType.SCALED_MANHATTAN);
+            new FocalSearch().solve(map, HeuristicType.AVG_COST_MANHATTAN);
+            new IDAStar(map.getCellCount()).solve(map, HeuristicType.SCALED_MANHATTAN, IDA_TIMEOUT_MS);
+            new FringeSearch().solve(map, HeuristicType.SCALED_MANHATTAN, IDA_TIMEOUT_MS);
         }
         System.out.println(" Done.");
     }
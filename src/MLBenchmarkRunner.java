@@ -121,7 +121,7 @@ public class MLBenchmarkRunner {
                             map = new GridMap();
                             map.generateRandom(size, size, diff);
 
-                            AStar validator = new AStar();
+                            IndexedAStar validator = new IndexedAStar(OpenListType.BUCKET_QUEUE);
                             groundTruth = validator.solve(map, standardHeuristic);
 
                             if (groundTruth.isSuccess) {
@@ -207,6 +207,77 @@ public class MLBenchmarkRunner {
                                 mlResult.memoryUsed
                         );
 
+                        // --- STEP 2b: Focal search guided by this ML Heuristic ---
+                        // The model only steers; SCALED_MANHATTAN certifies cost <= w * optimum
+                        SolverResult focalResult = new FocalSearch().solve(map, mlHeuristic);
+
+                        exporter.writeBenchmarkRecord(
+                                mapId,
+                                "FocalSearch",
+                                heuristicType, // ML model name
+                                String.valueOf(size),
+                                diff.name(),
+                                -1, // No memory limit
+                                focalResult.isSuccess,
+                                focalResult.isSuccess ? "SUCCESS" : "FAILED",
+                                focalResult.totalCost,
+                                trueOptimalCost,
+                                focalResult.nodesExpanded,
+                                0,
+                                focalResult.timeElapsedMs * 1_000_000L, // Convert ms to ns (consistent with BenchmarkRunner)
+                                focalResult.memoryUsed
+                        );
+
+                        // --- STEP 2c: Same model on the array-based engine ---
+                        // Neighbours are scored in one batch per expansion; timed in ns, since
+                        // these runs are usually well under a millisecond
+                        long indexedStart = System.nanoTime();
+                        SolverResult indexedResult = new IndexedAStar(OpenListType.INDEXED_HEAP).solve(map, mlHeuristic);
+                        long indexedTimeNs = System.nanoTime() - indexedStart;
+
+                        exporter.writeBenchmarkRecord(
+                                mapId,
+                                "IndexedAStar-INDEXED_HEAP",
+                                heuristicType, // ML model name
+                                String.valueOf(size),
+                                diff.name(),
+                                -1, // No memory limit
+                                indexedResult.isSuccess,
+                                indexedResult.isSuccess ? "SUCCESS" : "FAILED",
+                                indexedResult.totalCost,
+                                trueOptimalCost,
+                                indexedResult.nodesExpanded,
+                                0,
+                                indexedTimeNs,
+                                indexedResult.memoryUsed
+                        );
+
+                        // --- STEP 2d: A* with this model behind a per-cell estimate cache ---
+                        // Each cell's prediction is computed once; repeats come from the table
+                        CachingHeuristic cachedHeuristic = new CachingHeuristic(mlHeuristic);
+                        SolverResult cachedResult = new AStar().solve(map, cachedHeuristic);
+                        if (mlEntry == mlHeuristics.get(0)) {
+                            System.out.printf("      Cached model: %.1f%% of estimates from the table%n",
+                                    100.0 * cachedHeuristic.getHitRate());
+                        }
+
+                        exporter.writeBenchmarkRecord(
+                                mapId,
+                                "AStar",
+                                heuristicType + "_CACHED",
+                                String.valueOf(size),
+                                diff.name(),
+                                -1, // No memory limit for A*
+                                cachedResult.isSuccess,
+                                cachedResult.isSuccess ? "SUCCESS" : "FAILED",
+                                cachedResult.totalCost,
+                                trueOptimalCost,
+                                cachedResult.nodesExpanded,
+                                0,
+                                cachedResult.timeElapsedMs * 1_000_000L, // Convert ms to ns (consistent with BenchmarkRunner)
+                                cachedResult.memoryUsed
+                        );
+
                         // --- STEP 3: Run SMA* with this ML Heuristic ---
                         // We test if ML helps SMA* find paths with less memory churn
                         
@@ -283,6 +354,8 @@ public class MLBenchmarkRunner {
             GridMap map = new GridMap();
             map.generateRandom(20, 20, Difficulty.EASY);
             new AStar().solve(map, HeuristicType.SCALED_MANHATTAN);
+            new FocalSearch().solve(map, HeuristicType.AVG_COST_MANHATTAN);
+            new IndexedAStar(OpenListType.INDEXED_HEAP).solve(map, HeuristicType.SCALED_MANHATTAN);
         }
         System.out.println(" Done.");
     }
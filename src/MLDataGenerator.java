@@ -1,6 +1,4 @@
-import algorithm.AStar;
-import algorithm.ManhattanHeuristic;
-import algorithm.SolverResult;
+import algorithm.GoalDistanceField;
 import io.DataExporter;
 import model.GridMap;
 
@@ -15,9 +13,6 @@ public class MLDataGenerator {
         System.out.println("=== Starting 20-Level ML Data Generation ===");
 
         DataExporter exporter = DataExporter.getInstance();
-        AStar solver = new AStar();
-        ManhattanHeuristic heuristic = new ManhattanHeuristic();
-
         int globalCounter = 0;
         int totalLevels = 20;
 
@@ -55,10 +50,12 @@ public class MLDataGenerator {
                     // Call the NEW method
                     map.generateAdvanced(size, size, wallProb, mudProb, trafficProb, shortcutProb);
 
-                    // Solve
-                    SolverResult result = solver.solve(map, heuristic);
+                    // Label: exact cost from a reverse Dijkstra from the goal
+                    // (A* with plain Manhattan overestimates on shortcuts and could mislabel)
+                    GoalDistanceField field = GoalDistanceField.build(map);
+                    double optimalCost = field.costFrom(map.getStartX(), map.getStartY());
 
-                    if (result.isSuccess) {
+                    if (optimalCost < Double.POSITIVE_INFINITY) {
                         currentValidSamples++;
                         globalCounter++;
 
@@ -68,7 +65,7 @@ public class MLDataGenerator {
                                 map,
                                 map.getStartNode(),
                                 map.getGoalNode(),
-                                result.totalCost
+                                optimalCost
                         );
                     }
                 }
@@ -42,6 +42,8 @@ public class Main {
             System.out.println("  [2] Visualize Trace (Single Map Audit)");
             System.out.println("  [3] Generate Training Data (For Python)");
             System.out.println("  [4] Test Machine Learned Heuristic (Bonus)"); // NEW OPTION
+            System.out.println("  [5] Replanning Benchmark (LPA* vs A* re-solve)");
+            System.out.println("  [6] Parallel Benchmark (HDA* thread scaling)");
             System.out.println("  [0] Exit");
             System.out.print(">> ");
 
@@ -64,6 +66,14 @@ public class Main {
                     // Run the specific ML Benchmark
                     new MLBenchmarkRunner().runBenchmarks();
                     break;
+                case "5":
+                    // Terrain edits on the shared maps: incremental repair vs full re-solve
+                    new ReplanningBenchmarkRunner().runBenchmarks();
+                    break;
+                case "6":
+                    // One large query at a time: HDA* on 1..N threads vs A*
+                    new ParallelBenchmarkRunner().runBenchmarks();
+                    break;
                 case "0":
                     System.out.println("Exiting...");
                     scanner.close();
@@ -0,0 +1,244 @@
+import algorithm.*;
+import io.DataExporter;
+import model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Thread-scaling benchmark, with 1, 2, 4, ... threads up to the number of available cores:
+ * one large query at a time (A* on one core vs HDA*), then many-to-many distance matrices
+ * (one Dijkstra per source on a ForkJoinPool of that size).
+ */
+public class ParallelBenchmarkRunner {
+
+    // Config: large maps, where a single query is worth splitting
+    private static final int[] SIZES = {100, 200, 400};
+    private static final int MAPS_PER_SIZE = 3;
+    private static final int REPEATS = 3; // Best of, to smooth out thread start-up noise
+
+    // Distance matrix: points of interest (sources = targets) on one map per size
+    private static final int[] MATRIX_SIZES = {100, 200};
+    private static final int MATRIX_POINTS = 200;
+
+    // Seed for generating deterministic map seeds
+    private static final long MASTER_SEED = 4242L;
+
+    public void runBenchmarks() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int t = 1; t < cores; t *= 2) {
+            threadCounts.add(t);
+        }
+        threadCounts.add(cores);
+
+        System.out.println("=================================================");
+        System.out.println("   PARALLEL BENCHMARK");
+        System.out.println("   HDA* with " + threadCounts + " threads vs A*");
+        System.out.println("=================================================");
+        if (cores == 1) {
+            System.err.println("⚠️  WARNING: Only one core available: HDA* can only show its overhead here.");
+        }
+
+        warmUp();
+        DataExporter exporter = DataExporter.getInstance();
+        Heuristic heuristic = HeuristicType.SCALED_MANHATTAN;
+        Random seedGenerator = new Random(MASTER_SEED);
+
+        long totalAStarNs = 0;
+        long totalIndexedNs = 0;
+        long[] totalHdaNs = new long[threadCounts.size()];
+        int mismatches = 0;
+
+        for (int size : SIZES) {
+            for (int i = 1; i <= MAPS_PER_SIZE; i++) {
+                Difficulty diff = Difficulty.values()[(i - 1) % Difficulty.values().length];
+
+                // Solvable maps only: the scaling of a failed search says little
+                GridMap map;
+                SolverResult aStarRes;
+                String mapId;
+                do {
+                    long mapSeed = seedGenerator.nextLong();
+                    map = new GridMap();
+                    map.generateRandom(size, size, diff, mapSeed);
+                    mapId = "P" + size + "-" + Long.toHexString(mapSeed);
+                    aStarRes = new AStar().solve(map, heuristic);
+                } while (!aStarRes.isSuccess);
+                System.out.printf("   [%s] Size=%d | Difficulty=%s ... ", mapId, size, diff.name());
+
+                // GC control: Reduce variance from garbage collection
+                System.gc();
+                try { Thread.sleep(50); } catch (InterruptedException e) {}
+
+                long aStarNs = Long.MAX_VALUE;
+                for (int r = 0; r < REPEATS; r++) {
+                    long start = System.nanoTime();
+                    aStarRes = new AStar().solve(map, heuristic);
+                    aStarNs = Math.min(aStarNs, System.nanoTime() - start);
+                }
+                totalAStarNs += aStarNs;
+                exporter.writeBenchmarkRecord(
+                        mapId, "AStar", "SCALED_MANHATTAN",
+                        String.valueOf(size), diff.name(), -1,
+                        aStarRes.isSuccess, aStarRes.isSuccess ? "SUCCESS" : "FAILED",
+                        aStarRes.totalCost, aStarRes.totalCost,
+                        aStarRes.nodesExpanded, 0,
+                        aStarNs,
+                        aStarRes.memoryUsed
+                );
+
+                // Same engine as HDA* on one thread (primitive arrays, indexed heap): separates the
+                // parallel speedup from the array-versus-object speedup
+                long indexedNs = Long.MAX_VALUE;
+                SolverResult indexedRes = null;
+                for (int r = 0; r < REPEATS; r++) {
+                    long start = System.nanoTime();
+                    indexedRes = new IndexedAStar(OpenListType.INDEXED_HEAP).solve(map, heuristic);
+                    indexedNs = Math.min(indexedNs, System.nanoTime() - start);
+                }
+                totalIndexedNs += indexedNs;
+                exporter.writeBenchmarkRecord(
+                        mapId, "IndexedAStar-INDEXED_HEAP", "SCALED_MANHATTAN",
+                        String.valueOf(size), diff.name(), -1,
+                        indexedRes.isSuccess, indexedRes.isSuccess ? "SUCCESS" : "FAILED",
+                        indexedRes.totalCost, aStarRes.totalCost,
+                        indexedRes.nodesExpanded, 0,
+                        indexedNs,
+                        indexedRes.memoryUsed
+                );
+
+                StringBuilder speedups = new StringBuilder();
+                for (int t = 0; t < threadCounts.size(); t++) {
+                    int threads = threadCounts.get(t);
+                    HDAStar hdaStar = new HDAStar(threads);
+                    SolverResult hdaRes = null;
+                    long hdaNs = Long.MAX_VALUE;
+                    for (int r = 0; r < REPEATS; r++) {
+                        long start = System.nanoTime();
+                        hdaRes = hdaStar.solve(map, heuristic);
+                        hdaNs = Math.min(hdaNs, System.nanoTime() - start);
+                    }
+                    totalHdaNs[t] += hdaNs;
+                    if (!hdaRes.isSuccess || hdaRes.totalCost != aStarRes.totalCost) {
+                        mismatches++;
+                    }
+
+                    exporter.writeBenchmarkRecord(
+                            mapId, "HDAStar-" + threads + "T", "SCALED_MANHATTAN",
+                            String.valueOf(size), diff.name(), -1,
+                            hdaRes.isSuccess, hdaRes.isSuccess ? "SUCCESS" : "FAILED",
+                            hdaRes.totalCost, aStarRes.totalCost,
+                            hdaRes.nodesExpanded, 0, // Re-expansions included
+                            hdaNs,
+                            hdaRes.memoryUsed
+                    );
+                    speedups.append(String.format(" %dT=%.2fx", threads, (double) aStarNs / hdaNs));
+                }
+                System.out.println("speedup" + speedups);
+            }
+        }
+
+        System.out.println("\n=== Parallel Benchmark Complete ===");
+        System.out.printf("✅ IndexedAStar (1 core): %.1f ms total | Speedup vs A*: %.2fx%n",
+                totalIndexedNs / 1e6, (double) totalAStarNs / totalIndexedNs);
+        for (int t = 0; t < threadCounts.size(); t++) {
+            System.out.printf("✅ %2d thread(s): %.1f ms total | Speedup vs A*: %.2fx%n",
+                    threadCounts.get(t), totalHdaNs[t] / 1e6, (double) totalAStarNs / totalHdaNs[t]);
+        }
+        if (mismatches > 0) {
+            System.err.println("⚠️  WARNING: " + mismatches + " HDA* results did not match the A* optimum.");
+        }
+
+        runMatrixBenchmarks(exporter, threadCounts, seedGenerator);
+        System.out.println("✅ Results saved to: final_output/benchmark_results.csv");
+    }
+
+    /**
+     * Distance matrices between MATRIX_POINTS random cells: a full Dijkstra per source on one
+     * core (no early stop) as the baseline, then DistanceMatrix on pools of each size.
+     */
+    private void runMatrixBenchmarks(DataExporter exporter, List<Integer> threadCounts, Random seedGenerator) {
+        System.out.println("\n>>> DISTANCE MATRIX: " + MATRIX_POINTS + " x " + MATRIX_POINTS + " points");
+        for (int size : MATRIX_SIZES) {
+            long mapSeed = seedGenerator.nextLong();
+            GridMap map = new GridMap();
+            map.generateRandom(size, size, Difficulty.MEDIUM, mapSeed);
+            String mapId = "M" + size + "-" + Long.toHexString(mapSeed);
+
+            Random random = new Random(mapSeed);
+            int[] points = new int[MATRIX_POINTS];
+            for (int i = 0; i < points.length; i++) {
+                int cell;
+                do {
+                    cell = random.nextInt(map.getCellCount());
+                } while (!map.getCellType(map.indexToX(cell), map.indexToY(cell)).isTraversable());
+                points[i] = cell;
+            }
+            int pairs = points.length * points.length;
+            int matrixBytes = 4 * pairs;
+
+            // GC control: Reduce variance from garbage collection
+            System.gc();
+            try { Thread.sleep(50); } catch (InterruptedException e) {}
+
+            long fullStart = System.nanoTime();
+            for (int source : points) {
+                GridDijkstra.distances(map, source, false);
+            }
+            long fullNs = System.nanoTime() - fullStart;
+            exporter.writeBenchmarkRecord(
+                    mapId, "FullDijkstra-1T", "NONE",
+                    String.valueOf(size), Difficulty.MEDIUM.name(), -1,
+                    true, "SUCCESS",
+                    0.0, 0.0,
+                    pairs, 0, // Pairs, not expansions
+                    fullNs,
+                    matrixBytes // Bytes
+            );
+            System.out.printf("   Size=%d | full Dijkstra per source: %.1f ms |", size, fullNs / 1e6);
+
+            for (int threads : threadCounts) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                long matrixNs = Long.MAX_VALUE;
+                for (int r = 0; r < REPEATS; r++) {
+                    long start = System.nanoTime();
+                    DistanceMatrix.computeFlat(map, points, points, pool);
+                    matrixNs = Math.min(matrixNs, System.nanoTime() - start);
+                }
+                pool.shutdown();
+
+                exporter.writeBenchmarkRecord(
+                        mapId, "DistanceMatrix-" + threads + "T", "NONE",
+                        String.valueOf(size), Difficulty.MEDIUM.name(), -1,
+                        true, "SUCCESS",
+                        0.0, 0.0,
+                        pairs, 0, // Pairs, not expansions
+                        matrixNs,
+                        matrixBytes // Bytes
+                );
+                System.out.printf(" %dT=%.1f ms (%.0f pairs/ms)", threads, matrixNs / 1e6, pairs / (matrixNs / 1e6));
+            }
+            System.out.println();
+        }
+    }
+
+    private void warmUp() {
+        System.out.print("Warming up JVM (50 iterations for JIT compilation)...");
+        Random random = new Random(0);
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < 50; i++) {
+            GridMap map = new GridMap();
+            map.generateRandom(50, 50, Difficulty.EASY, random.nextLong());
+            new AStar().solve(map, HeuristicType.SCALED_MANHATTAN);
+            new IndexedAStar(OpenListType.INDEXED_HEAP).solve(map, HeuristicType.SCALED_MANHATTAN);
+            new HDAStar(1 + i % cores).solve(map, HeuristicType.SCALED_MANHATTAN);
+            int[] points = {0, map.getCellCount() / 2, map.getCellCount() - 1};
+            GridDijkstra.distances(map, points[0], false);
+            DistanceMatrix.compute(map, points, points);
+        }
+        System.out.println(" Done.");
+    }
+}
@@ -0,0 +1,161 @@
+import algorithm.*;
+import io.DataExporter;
+import model.*;
+import model.SharedMapConfig.MapConfig;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Replanning benchmark: applies random terrain edits to the shared maps and compares an
+ * incremental repair (LPA*) against re-solving from scratch with A* after every batch.
+ */
+public class ReplanningBenchmarkRunner {
+
+    // Config
+    private static final int ROUNDS_PER_MAP = 20;
+    private static final int EDITS_PER_ROUND = 5;
+
+    // Traffic builds up and clears, maintenance opens and closes, roads get blocked
+    private static final CellType[] EDIT_TYPES = {
+            CellType.ROAD, CellType.HIGH_TRAFFIC, CellType.MAINTENANCE, CellType.WALL
+    };
+
+    public void runBenchmarks() {
+        System.out.println("=================================================");
+        System.out.println("   REPLANNING BENCHMARK");
+        System.out.println("   LPA* repair vs A* re-solve after terrain edits");
+        System.out.println("=================================================");
+
+        SharedMapConfig.loadFromFile();
+        List<MapConfig> configs = SharedMapConfig.getAllMapConfigs();
+        configs.sort(Comparator.comparingInt((MapConfig c) -> c.size)
+                .thenComparing(c -> c.difficulty)
+                .thenComparingInt(c -> c.iteration));
+        if (configs.isEmpty()) {
+            System.err.println("⚠️  WARNING: No pre-generated maps found! Run the Standard Benchmark (Option 1) first.");
+            return;
+        }
+        System.out.println("✓ Using " + configs.size() + " pre-generated maps, "
+                + ROUNDS_PER_MAP + " rounds of " + EDITS_PER_ROUND + " edits each");
+
+        warmUp();
+        DataExporter exporter = DataExporter.getInstance();
+        Heuristic heuristic = HeuristicType.SCALED_MANHATTAN;
+
+        long totalRepairNs = 0;
+        long totalResolveNs = 0;
+        int mismatches = 0;
+
+        for (MapConfig config : configs) {
+            GridMap map = SharedMapConfig.generateMap(config);
+            System.out.printf("   [%s] Size=%d | Difficulty=%s ... ", config.mapId, config.size, config.difficulty.name());
+
+            // GC control: Reduce variance from garbage collection
+            System.gc();
+            try { Thread.sleep(50); } catch (InterruptedException e) {}
+
+            // Initial plan (not timed against anything: both solvers start with a full search)
+            LPAStar lpaStar = new LPAStar();
+            lpaStar.solve(map, heuristic);
+
+            // Edits are seeded from the map, so every run replays the same sequence
+            Random random = new Random(config.seed);
+            long mapRepairNs = 0;
+            long mapResolveNs = 0;
+
+            for (int round = 1; round <= ROUNDS_PER_MAP; round++) {
+                applyRandomEdits(map, random);
+
+                long repairStart = System.nanoTime();
+                SolverResult repaired = lpaStar.solve(map, heuristic);
+                long repairNs = System.nanoTime() - repairStart;
+
+                long resolveStart = System.nanoTime();
+                SolverResult resolved = new AStar().solve(map, heuristic);
+                long resolveNs = System.nanoTime() - resolveStart;
+
+                // Ground truth for the edited map
+                SolverResult truth = new IndexedAStar(OpenListType.BUCKET_QUEUE).solve(map, heuristic);
+                double optimalCost = truth.isSuccess ? truth.totalCost : 0.0;
+                if (repaired.isSuccess != truth.isSuccess || (truth.isSuccess && repaired.totalCost != truth.totalCost)) {
+                    mismatches++;
+                }
+
+                mapRepairNs += repairNs;
+                mapResolveNs += resolveNs;
+
+                exporter.writeBenchmarkRecord(
+                        config.mapId, "LPAStar-Repair", "SCALED_MANHATTAN",
+                        String.valueOf(config.size), config.difficulty.name(), -1,
+                        repaired.isSuccess, repaired.isSuccess ? "SUCCESS" : "FAILED",
+                        repaired.totalCost, optimalCost,
+                        repaired.nodesExpanded, 0,
+                        repairNs,
+                        repaired.memoryUsed
+                );
+                exporter.writeBenchmarkRecord(
+                        config.mapId, "AStar-Resolve", "SCALED_MANHATTAN",
+                        String.valueOf(config.size), config.difficulty.name(), -1,
+                        resolved.isSuccess, resolved.isSuccess ? "SUCCESS" : "FAILED",
+                        resolved.totalCost, optimalCost,
+                        resolved.nodesExpanded, 0,
+                        resolveNs,
+                        resolved.memoryUsed
+                );
+            }
+
+            lpaStar.detach();
+            totalRepairNs += mapRepairNs;
+            totalResolveNs += mapResolveNs;
+            System.out.printf("repair %.2f ms vs re-solve %.2f ms%n", mapRepairNs / 1e6, mapResolveNs / 1e6);
+        }
+
+        System.out.println("\n=== Replanning Benchmark Complete ===");
+        System.out.printf("✅ Total repair time: %.1f ms | Total re-solve time: %.1f ms | Speedup: %.1fx%n",
+                totalRepairNs / 1e6, totalResolveNs / 1e6,
+                totalRepairNs > 0 ? (double) totalResolveNs / totalRepairNs : 0.0);
+        if (mismatches > 0) {
+            System.err.println("⚠️  WARNING: " + mismatches + " repaired plans did not match the re-solved optimum.");
+        }
+        System.out.println("✅ Results saved to: final_output/benchmark_results.csv");
+    }
+
+    /**
+     * Changes EDITS_PER_ROUND random cells (never the start or goal) in one batch.
+     */
+    private static void applyRandomEdits(GridMap map, Random random) {
+        int startCell = map.toIndex(map.getStartX(), map.getStartY());
+        int goalCell = map.toIndex(map.getGoalX(), map.getGoalY());
+        int[] cells = new int[EDITS_PER_ROUND];
+        CellType[] types = new CellType[EDITS_PER_ROUND];
+        for (int i = 0; i < EDITS_PER_ROUND; i++) {
+            int cell;
+            do {
+                cell = random.nextInt(map.getCellCount());
+            } while (cell == startCell || cell == goalCell);
+            cells[i] = cell;
+            types[i] = EDIT_TYPES[random.nextInt(EDIT_TYPES.length)];
+        }
+        map.setCellTypes(cells, types);
+    }
+
+    private void warmUp() {
+        System.out.print("Warming up JVM (50 iterations for JIT compilation)...");
+        Random random = new Random(0);
+        for (int i = 0; i < 50; i++) {
+            GridMap map = new GridMap();
+            map.generateRandom(20, 20, Difficulty.EASY, random.nextLong());
+            LPAStar lpaStar = new LPAStar();
+            lpaStar.solve(map, HeuristicType.SCALED_MANHATTAN);
+            for (int round = 0; round < 5; round++) {
+                applyRandomEdits(map, random);
+                lpaStar.solve(map, HeuristicType.SCALED_MANHATTAN);
+                new AStar().solve(map, HeuristicType.SCALED_MANHATTAN);
+            }
+            lpaStar.detach();
+        }
+        System.out.println(" Done.");
+    }
+}
@@ -0,0 +1,255 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Anytime Repairing A* (Likhachev, Gordon &amp; Thrun).
+ *
+ * Runs weighted A* (f = g + w * h) with a large weight to find a first path quickly, then lowers
+ * the weight and improves the path until w reaches 1 or the deadline passes. Search effort is
+ * reused between iterations: G-scores persist, each cell is expanded at most once per iteration,
+ * and cells improved after their expansion wait in an INCONS list instead of being re-expanded.
+ * Between iterations the Open Set is re-keyed for the new weight.
+ *
+ * After each iteration the path's suboptimality is bounded by
+ * min(w, cost / min over OPEN and INCONS of (g + h)), which holds for admissible heuristics.
+ * The goal costs nothing to enter, so Manhattan-style estimates overshoot by up to one step next
+ * to it; that slack is added to the stopping test and taken off the bound's denominator.
+ */
+public class ARAStar extends PathFinder {
+
+    public static final double DEFAULT_INITIAL_WEIGHT = 3.0;
+    public static final double DEFAULT_WEIGHT_STEP = 0.5;
+
+    private static final int DEADLINE_CHECK_INTERVAL = 256; // Expansions between clock reads
+
+    private final double initialWeight;
+    private final double weightStep;
+
+    public ARAStar() {
+        this(DEFAULT_INITIAL_WEIGHT, DEFAULT_WEIGHT_STEP);
+    }
+
+    /**
+     * @param initialWeight Heuristic weight of the first iteration (at least 1).
+     * @param weightStep How much the weight drops after each iteration (positive).
+     */
+    public ARAStar(double initialWeight, double weightStep) {
+        if (initialWeight < 1 || weightStep <= 0) {
+            throw new IllegalArgumentException("Need initialWeight >= 1 and weightStep > 0, got "
+                    + initialWeight + " and " + weightStep);
+        }
+        this.initialWeight = initialWeight;
+        this.weightStep = weightStep;
+    }
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic).path;
+    }
+
+    /**
+     * Improves the path all the way down to weight 1 (no deadline).
+     */
+    public AnytimeSolverResult solve(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic, Long.MAX_VALUE / 1_000_000L);
+    }
+
+    /**
+     * Returns the best path found before the deadline.
+     * @param timeoutMs Deadline in milliseconds from the call.
+     */
+    public AnytimeSolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs) {
+        return solve(map, heuristic, timeoutMs, SearchContext.forCurrentThread());
+    }
+
+    /**
+     * Same as {@link #solve(GridMap, Heuristic, long)}, using the given (reusable) search state.
+     */
+    public AnytimeSolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs, SearchContext context) {
+        long startTime = System.nanoTime();
+        long timeoutNs = timeoutMs * 1_000_000L;
+
+        int width = map.getWidth();
+        int cellCount = map.getCellCount();
+        context.reset(cellCount);
+        // Weighted keys are fractional: always the indexed heap
+        IndexedHeap openSet = (IndexedHeap) context.openList(OpenListType.INDEXED_HEAP);
+
+        int goalX = map.getGoalX();
+        int goalY = map.getGoalY();
+        int startCell = map.toIndex(map.getStartX(), map.getStartY());
+        int goalCell = map.toIndex(goalX, goalY);
+
+        double[] hScores = new double[cellCount];
+        Arrays.fill(hScores, Double.NaN);
+        int[] closedCells = new int[16];     // Expanded this iteration (to reopen them after)
+        int closedCount = 0;
+        int[] inconsistent = new int[16];    // INCONS: improved after expansion
+        int inconsistentCount = 0;
+
+        List<AnytimeSolverResult.Improvement> improvements = new ArrayList<>();
+        List<Node> bestPath = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        double bestBound = Double.POSITIVE_INFINITY;
+
+        int nodesExpanded = 0;
+        int maxMemory = 0;
+        int visited = 1;
+        boolean timedOut = false;
+
+        // Largest estimate next to the goal: how far the heuristic may overshoot the true cost
+        double goalSlack = 0;
+        for (int i = 0; i < 4; i++) {
+            int nx = goalX + DX[i];
+            int ny = goalY + DY[i];
+            if (map.isValid(nx, ny)) {
+                goalSlack = Math.max(goalSlack, h(hScores, ny * width + nx, width, goalX, goalY, heuristic, map));
+            }
+        }
+
+        double weight = initialWeight;
+        context.setG(startCell, 0, -1);
+        openSet.push(startCell, weight * h(hScores, startCell, width, goalX, goalY, heuristic, map), 0);
+
+        while (true) {
+            // --- ImprovePath: weighted A* until no queued key beats the goal's G-score ---
+            while (!openSet.isEmpty()) {
+                if (openSet.peekF() >= context.getG(goalCell) + weight * goalSlack) {
+                    break; // Nothing queued can improve the path at this weight
+                }
+                if ((nodesExpanded & (DEADLINE_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() - startTime > timeoutNs) {
+                    timedOut = true;
+                    break;
+                }
+                maxMemory = Math.max(maxMemory, openSet.size() + visited);
+
+                int current = openSet.pop();
+                double currentG = context.getG(current);
+
+                nodesExpanded++;
+                context.close(current);
+                if (closedCount == closedCells.length) {
+                    closedCells = Arrays.copyOf(closedCells, closedCount * 2);
+                }
+                closedCells[closedCount++] = current;
+
+                int cx = current % width;
+                int cy = current / width;
+                for (int i = 0; i < 4; i++) {
+                    int nx = cx + DX[i];
+                    int ny = cy + DY[i];
+                    if (!map.isValid(nx, ny)) {
+                        continue;
+                    }
+                    CellType type = map.getCellType(nx, ny);
+                    if (!type.isTraversable()) {
+                        continue;
+                    }
+                    int neighbor = ny * width + nx;
+                    double tentativeG = currentG + type.getCost();
+                    if (tentativeG >= context.getG(neighbor)) {
+                        continue;
+                    }
+                    if (!context.isVisited(neighbor)) {
+                        visited++;
+                    }
+                    context.setG(neighbor, tentativeG, current);
+                    double h = h(hScores, neighbor, width, goalX, goalY, heuristic, map);
+                    if (context.isClosed(neighbor) && weight > 1.0) {
+                        if (inconsistentCount == inconsistent.length) {
+                            inconsistent = Arrays.copyOf(inconsistent, inconsistentCount * 2);
+                        }
+                        inconsistent[inconsistentCount++] = neighbor;
+                    } else {
+                        // At weight 1 an improved closed cell is expanded again, as in A*: this
+                        // keeps the last iteration optimal when the heuristic is not consistent
+                        if (context.isClosed(neighbor)) {
+                            context.reopen(neighbor);
+                        }
+                        openSet.push(neighbor, tentativeG + weight * h, h);
+                    }
+                }
+            }
+
+            // --- Publish: move INCONS back to OPEN (the heap drops duplicates) and reopen CLOSED ---
+            for (int i = 0; i < inconsistentCount; i++) {
+                int cell = inconsistent[i];
+                openSet.push(cell, context.getG(cell), hScores[cell]); // Re-keyed below
+            }
+            inconsistentCount = 0;
+            for (int i = 0; i < closedCount; i++) {
+                context.reopen(closedCells[i]);
+            }
+            closedCount = 0;
+
+            // Drain OPEN once: lowest g + h (for the bound) and the cells to re-key
+            int[] queued = new int[openSet.size()];
+            int queuedCount = 0;
+            double lowestF = Double.POSITIVE_INFINITY;
+            while (!openSet.isEmpty()) {
+                int cell = openSet.pop();
+                queued[queuedCount++] = cell;
+                lowestF = Math.min(lowestF, context.getG(cell) + hScores[cell]);
+            }
+
+            boolean improved = false;
+            double goalG = context.getG(goalCell);
+            if (goalG < bestCost) {
+                // A cheaper path keeps the previous bound; a finished iteration may tighten it
+                bestCost = goalG;
+                bestPath = reconstructPath(goalCell, context.parents(), context.gScores(), map);
+                improved = true;
+            }
+            if (!timedOut && bestCost < Double.POSITIVE_INFINITY) {
+                double bound = queuedCount == 0 ? 1.0 : Math.max(1.0, Math.min(weight, bestCost / Math.max(0.0, lowestF - goalSlack)));
+                if (bound < bestBound) {
+                    bestBound = bound;
+                    improved = true;
+                }
+            }
+            if (improved) {
+                improvements.add(new AnytimeSolverResult.Improvement(
+                        bestCost, bestBound, weight, System.nanoTime() - startTime, nodesExpanded));
+            }
+
+            if (timedOut || queuedCount == 0 || bestBound <= 1.0) {
+                break;
+            }
+
+            // --- Next iteration: lower the weight and re-key OPEN ---
+            weight = Math.max(1.0, Math.min(weight - weightStep, bestBound));
+            for (int i = 0; i < queuedCount; i++) {
+                int cell = queued[i];
+                openSet.push(cell, context.getG(cell) + weight * hScores[cell], hScores[cell]);
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        if (bestPath == null) {
+            return new AnytimeSolverResult(null, 0.0, nodesExpanded, maxMemory, false, elapsedMs,
+                    improvements, Double.POSITIVE_INFINITY, timedOut);
+        }
+        return new AnytimeSolverResult(bestPath, bestCost, nodesExpanded, maxMemory, true, elapsedMs,
+                improvements, bestBound, timedOut);
+    }
+
+    /**
+     * @return The cell's H-cost, computed on first use.
+     */
+    private static double h(double[] hScores, int cell, int width, int goalX, int goalY,
+                            Heuristic heuristic, GridMap map) {
+        double h = hScores[cell];
+        if (Double.isNaN(h)) {
+            h = heuristic.compute(cell % width, cell / width, goalX, goalY, map);
+            hScores[cell] = h;
+        }
+        return h;
+    }
+}
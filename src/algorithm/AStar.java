@@ -33,6 +33,7 @@ public class AStar extends PathFinder {
         int nodesExpanded = 0;
         int maxMemory = 0;
 
+        // Fresh copies: search state never touches the (possibly shared) map
         Node start = map.getStartNode();
         Node goal = map.getGoalNode();
 
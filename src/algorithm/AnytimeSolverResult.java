@@ -0,0 +1,45 @@
+package algorithm;
+
+import model.Node;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SolverResult of an anytime search: the best solution when it stopped, plus every solution it
+ * published on the way (the quality-versus-time curve).
+ */
+public class AnytimeSolverResult extends SolverResult {
+
+    /**
+     * One published solution.
+     */
+    public static final class Improvement {
+        public final double cost;
+        public final double bound;          // Proven: cost <= bound * optimal cost
+        public final double weight;         // Heuristic weight of the iteration that found it
+        public final long elapsedNs;        // Since the search started
+        public final int nodesExpanded;     // Cumulative
+
+        public Improvement(double cost, double bound, double weight, long elapsedNs, int nodesExpanded) {
+            this.cost = cost;
+            this.bound = bound;
+            this.weight = weight;
+            this.elapsedNs = elapsedNs;
+            this.nodesExpanded = nodesExpanded;
+        }
+    }
+
+    public final List<Improvement> improvements;
+    public final double bound;       // Suboptimality bound of the final path (1.0 = proven optimal)
+    public final boolean timedOut;   // The deadline cut the search short
+
+    public AnytimeSolverResult(List<Node> path, double totalCost, int nodesExpanded, int memoryUsed,
+                               boolean isSuccess, long timeElapsedMs,
+                               List<Improvement> improvements, double bound, boolean timedOut) {
+        super(path, totalCost, nodesExpanded, 0, memoryUsed, isSuccess, timeElapsedMs);
+        this.improvements = Collections.unmodifiableList(improvements);
+        this.bound = bound;
+        this.timedOut = timedOut;
+    }
+}
@@ -0,0 +1,360 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.List;
+
+/**
+ * Memory-bounded A* whose budget is given in bytes instead of a node count.
+ *
+ * All search state lives in a preallocated {@link RecordArena}: 48-byte records (cell, parent
+ * slot, G, F, H, depth, child count, remembered F-costs) plus the Open Set and a cell hash, sized
+ * once from the budget. When the arena is full, the shallowest highest-F open leaf is pruned and
+ * its F-cost is backed up into its parent, which goes back onto the Open Set keyed by the best
+ * forgotten successor (SMA*, as in {@link FullSMAStar}). Expanding it again regenerates only the
+ * forgotten directions, each starting from its remembered F-cost. A successor that does not fit
+ * is backed up the same way; only a record whose children could not fit next to its ancestors
+ * (the depth limit of this budget) is dropped as a dead end.
+ * A record stays in memory while it has children, so the parent chain of every open record is
+ * intact and the path is rebuilt from parent slots. A record reached by a cheaper path drops its
+ * subtree, so every G-cost is its parent's plus the cost of entering its cell.
+ */
+public class ArenaSMAStar extends PathFinder {
+
+    private static final int ALL_DIRECTIONS = 0b1111;
+
+    private final long budgetBytes;
+
+    public ArenaSMAStar(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * @return Bytes an arena needs to hold the given number of records (for budget sweeps).
+     */
+    public static long bytesFor(int records) {
+        return RecordArena.footprintBytes(records);
+    }
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        // Default timeout of 60 seconds if not specified
+        return solve(map, heuristic, 60000).path;
+    }
+
+    /**
+     * Solves the pathfinding problem within the byte budget and time limit.
+     * {@link SolverResult#memoryUsed} reports the peak bytes of live records.
+     * @param timeoutMs Maximum execution time in milliseconds.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs) {
+        return solve(map, heuristic, timeoutMs, SearchContext.forCurrentThread());
+    }
+
+    /**
+     * Same as {@link #solve(GridMap, Heuristic, long)}, reusing the arena held by the context.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs, SearchContext context) {
+        long startTime = System.nanoTime();
+        long timeoutNs = timeoutMs * 1_000_000L;
+
+        int capacity = RecordArena.capacityFor(budgetBytes);
+        if (capacity == 0) {
+            System.err.println("⚠️ ArenaSMAStar: a budget of " + budgetBytes + " bytes cannot hold a single record.");
+            return SolverResult.failure(0, 0, 0, 0);
+        }
+
+        Search search = new Search(context.recordArena(capacity), map, heuristic);
+        int goalCell = map.toIndex(map.getGoalX(), map.getGoalY());
+        RecordArena arena = search.arena;
+
+        int startX = map.getStartX();
+        int startY = map.getStartY();
+        double startH = heuristic.compute(startX, startY, search.goalX, search.goalY, map);
+        int root = arena.allocate(map.toIndex(startX, startY), -1, 0, startH, startH);
+        arena.setPending(root, ALL_DIRECTIONS);
+        arena.open(root);
+        search.peakRecords = 1;
+
+        while (arena.openCount() > 0) {
+            // --- TIMEOUT CHECK ---
+            long elapsedNs = System.nanoTime() - startTime;
+            if (elapsedNs > timeoutNs) {
+                return new SolverResult(
+                        null, Double.POSITIVE_INFINITY,
+                        search.nodesExpanded, search.prunedNodes, search.peakBytes(),
+                        false, elapsedNs / 1_000_000L
+                );
+            }
+
+            int best = arena.peekMin();
+            if (arena.f(best) == Double.POSITIVE_INFINITY) {
+                break; // Only dead ends left
+            }
+
+            if (arena.cell(best) == goalCell) {
+                List<Node> path = buildPath(arena, best, map);
+                long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+                return new SolverResult(
+                        path, arena.g(best), search.nodesExpanded, search.prunedNodes, search.peakBytes(),
+                        true, elapsedMs
+                );
+            }
+
+            arena.pollMin();
+            search.expand(best);
+        }
+
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        return SolverResult.failure(search.nodesExpanded, search.prunedNodes, search.peakBytes(), elapsedMs);
+    }
+
+    /**
+     * Rebuilds the Node path by following parent slots (G-costs are the recorded ones).
+     */
+    private List<Node> buildPath(RecordArena arena, int goalSlot, GridMap map) {
+        Node end = null;
+        Node child = null;
+        for (int slot = goalSlot; slot >= 0; slot = arena.parent(slot)) {
+            int cell = arena.cell(slot);
+            Node node = new Node(map.indexToX(cell), map.indexToY(cell));
+            node.g = arena.g(slot);
+            if (child == null) {
+                end = node;
+            } else {
+                child.parent = node;
+            }
+            child = node;
+        }
+        return reconstructPath(end);
+    }
+
+    /**
+     * Per-run state around the arena: expansion, pruning and the counters.
+     */
+    private static final class Search {
+        final RecordArena arena;
+        final GridMap map;
+        final Heuristic heuristic;
+        final int goalX;
+        final int goalY;
+        final double bytesPerRecord;
+
+        int expanding = -1;
+        int nodesExpanded = 0;
+        int prunedNodes = 0;
+        int peakRecords = 0;
+
+        Search(RecordArena arena, GridMap map, Heuristic heuristic) {
+            this.arena = arena;
+            this.map = map;
+            this.heuristic = heuristic;
+            this.goalX = map.getGoalX();
+            this.goalY = map.getGoalY();
+            this.bytesPerRecord = (double) arena.footprintBytes() / arena.capacity();
+        }
+
+        int peakBytes() {
+            return (int) Math.min(Integer.MAX_VALUE, Math.round(peakRecords * bytesPerRecord));
+        }
+
+        void expand(int current) {
+            if (arena.depth(current) + 1 >= arena.capacity()) {
+                // A child would not fit next to its ancestors: dead end for this budget
+                drop(current);
+                return;
+            }
+            nodesExpanded++;
+            expanding = current;
+
+            // Pathmax: no successor is cheaper than the key the node was queued under (its own
+            // F-cost, or the best F-cost backed up from successors it forgot)
+            double floorF = arena.f(current);
+            // While expanding, F collects the best F-cost of the successors it cannot keep
+            arena.setF(current, Double.POSITIVE_INFINITY);
+            int todo = arena.pending(current);
+            arena.setPending(current, 0);
+            double currentG = arena.g(current);
+            int cell = arena.cell(current);
+            int width = map.getWidth();
+            int cx = cell % width;
+            int cy = cell / width;
+
+            for (int i = 0; i < 4; i++) {
+                int bit = 1 << i;
+                if ((todo & bit) == 0) {
+                    continue;
+                }
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
+                if (!map.isValid(nx, ny)) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+
+                int neighbor = ny * width + nx;
+                double g = currentG + type.getCost();
+                double h = heuristic.compute(nx, ny, goalX, goalY, map);
+                // A regenerated successor starts from what was learnt before it was forgotten
+                double f = Math.max(Math.max(floorF, g + h), arena.forgottenF(current, i));
+
+                // One record per cell: a path that is not better is dropped for good
+                int existing = arena.slotOf(neighbor);
+                if (existing >= 0) {
+                    if (arena.g(existing) <= g) {
+                        continue;
+                    }
+                    // Cheaper path: the record starts over under the current node, without the
+                    // subtree it had below the old path
+                    int oldParent = arena.parent(existing);
+                    discardDescendants(existing);
+                    arena.setG(existing, g);
+                    arena.setF(existing, f);
+                    arena.setPending(existing, ALL_DIRECTIONS & ~(1 << (i ^ 1)));
+                    arena.clearForgottenF(existing);
+                    arena.open(existing);
+                    if (oldParent != current) {
+                        arena.setParent(existing, current);
+                        arena.addChildren(current, 1);
+                        detach(oldParent, neighbor, Double.POSITIVE_INFINITY);
+                    }
+                    continue;
+                }
+
+                int slot = allocate(neighbor, current, g, f, h);
+                if (slot < 0) {
+                    // Out of memory for now: retry the successor once something is pruned
+                    arena.setF(current, Math.min(arena.f(current), f));
+                    arena.setPending(current, arena.pending(current) | bit);
+                    arena.setForgottenF(current, i, f);
+                    continue;
+                }
+                // Stepping back to the parent is never better
+                arena.setPending(slot, ALL_DIRECTIONS & ~(1 << (i ^ 1)));
+                arena.addChildren(current, 1);
+                arena.open(slot);
+            }
+
+            expanding = -1;
+            if (arena.f(current) < Double.POSITIVE_INFINITY) {
+                // Some successors were pruned or did not fit: queue it again at their best F-cost
+                arena.open(current);
+            } else if (arena.children(current) == 0) {
+                // Nothing is left below it: drop it as a dead end
+                drop(current);
+            }
+        }
+
+        /**
+         * Frees a dead end, and its parent in turn if nothing is left below it.
+         */
+        private void drop(int slot) {
+            int parent = arena.parent(slot);
+            int cell = arena.cell(slot);
+            arena.free(slot);
+            if (parent >= 0) {
+                detach(parent, cell, Double.POSITIVE_INFINITY);
+            }
+        }
+
+        /**
+         * Frees every record below the given one. Records have no child links, so each sweep of
+         * the arena frees the records whose parent is gone, one level of the subtree at least.
+         */
+        private void discardDescendants(int root) {
+            if (arena.children(root) == 0) {
+                return;
+            }
+            arena.addChildren(root, -arena.children(root));
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int slot = 0; slot < arena.capacity(); slot++) {
+                    if (!arena.isLive(slot)) {
+                        continue;
+                    }
+                    int parent = arena.parent(slot);
+                    if (parent == root || (parent >= 0 && !arena.isLive(parent))) {
+                        arena.free(slot);
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Stores a record, pruning the worst open leaves while the arena is full.
+         * @return The slot, or -1 if only the current branch is left in memory.
+         */
+        private int allocate(int cell, int parent, double g, double f, double h) {
+            while (arena.isFull()) {
+                int victim = arena.pollWorstLeaf();
+                if (victim < 0) {
+                    return -1;
+                }
+                double victimF = arena.f(victim);
+                int victimParent = arena.parent(victim);
+                int victimCell = arena.cell(victim);
+                arena.free(victim);
+                prunedNodes++;
+                detach(victimParent, victimCell, victimF);
+            }
+            int slot = arena.allocate(cell, parent, g, f, h);
+            peakRecords = Math.max(peakRecords, arena.size());
+            return slot;
+        }
+
+        /**
+         * Removes one child from a record. A finite F-cost means the child was forgotten: it is
+         * backed up and the record is queued to regenerate that direction. +Infinity means the
+         * direction is gone for good. A record left with neither children nor anything to offer
+         * is freed, and its parent loses a child in turn.
+         */
+        private void detach(int parent, int childCell, double childF) {
+            while (parent >= 0) {
+                arena.addChildren(parent, -1);
+                if (childF < Double.POSITIVE_INFINITY) {
+                    int direction = directionTo(parent, childCell);
+                    arena.setPending(parent, arena.pending(parent) | 1 << direction);
+                    arena.setForgottenF(parent, direction, childF);
+                    if (childF < arena.f(parent)) {
+                        arena.setF(parent, childF);
+                    }
+                }
+                if (parent == expanding) {
+                    return; // Queued (or dropped) once its expansion ends
+                }
+                if (arena.f(parent) < Double.POSITIVE_INFINITY) {
+                    arena.open(parent);
+                    return;
+                }
+                if (arena.children(parent) > 0) {
+                    return;
+                }
+                int grandparent = arena.parent(parent);
+                childCell = arena.cell(parent);
+                arena.free(parent);
+                parent = grandparent;
+                childF = Double.POSITIVE_INFINITY;
+            }
+        }
+
+        /**
+         * @return Index into DX/DY of the step from the record's cell to an adjacent cell.
+         */
+        private int directionTo(int slot, int adjacentCell) {
+            int width = map.getWidth();
+            int cell = arena.cell(slot);
+            int dx = adjacentCell % width - cell % width;
+            if (dx != 0) {
+                return dx < 0 ? 2 : 3;
+            }
+            return adjacentCell < cell ? 0 : 1;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.List;
+
+/**
+ * Bidirectional A* with the MM stopping rule (Holte et al., "Bidirectional Search That Is
+ * Guaranteed to Meet in the Middle").
+ *
+ * A forward search from the start and a backward search from the goal each order their Open Set
+ * by {@code pr(n) = max(f(n), 2 g(n))}; the side with the lower minimum priority expands next.
+ * Every time a cell reached by one side is known to the other, the meeting cost updates the best
+ * path U. The search stops once U is no larger than the smaller of the two minimum priorities,
+ * which keeps the result optimal for admissible heuristics.
+ *
+ * Entering a cell costs that cell's cost, so the backward search charges an edge u -> v with
+ * cost(v) while walking from v to u. Its heuristic estimates the distance back to the start
+ * through the same {@link Heuristic}.
+ */
+public class BidirectionalAStar extends PathFinder {
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic).path;
+    }
+
+    /**
+     * Executes the bidirectional search and returns a detailed SolverResult.
+     * Reuses the calling thread's SearchContext (and its backward companion).
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic, SearchContext.forCurrentThread());
+    }
+
+    /**
+     * Executes the bidirectional search using the given (reusable) search state.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, SearchContext context) {
+        long startTime = System.nanoTime();
+
+        int width = map.getWidth();
+        SearchContext forward = context;
+        SearchContext backward = context.reverse();
+        forward.reset(map.getCellCount());
+        backward.reset(map.getCellCount());
+        IndexedHeap forwardOpen = (IndexedHeap) forward.openList(OpenListType.INDEXED_HEAP);
+        IndexedHeap backwardOpen = (IndexedHeap) backward.openList(OpenListType.INDEXED_HEAP);
+
+        int startX = map.getStartX();
+        int startY = map.getStartY();
+        int goalX = map.getGoalX();
+        int goalY = map.getGoalY();
+        int startCell = map.toIndex(startX, startY);
+        int goalCell = map.toIndex(goalX, goalY);
+
+        // Metrics
+        int nodesExpanded = 0;
+        int maxMemory = 0;
+        int visited = 2;
+
+        forward.setG(startCell, 0, -1);
+        double startH = heuristic.compute(startX, startY, goalX, goalY, map);
+        forwardOpen.push(startCell, startH, startH);
+
+        backward.setG(goalCell, 0, -1);
+        double goalH = heuristic.compute(goalX, goalY, startX, startY, map);
+        backwardOpen.push(goalCell, goalH, goalH);
+
+        // Best complete path so far and the cell where its two halves meet
+        double bestCost = startCell == goalCell ? 0 : Double.POSITIVE_INFINITY;
+        int meetCell = startCell == goalCell ? startCell : -1;
+
+        while (!forwardOpen.isEmpty() && !backwardOpen.isEmpty()) {
+            maxMemory = Math.max(maxMemory, forwardOpen.size() + backwardOpen.size() + visited);
+
+            // MM stopping rule: no remaining pair of frontier nodes can beat U
+            double forwardMin = forwardOpen.peekF();
+            double backwardMin = backwardOpen.peekF();
+            if (bestCost <= Math.min(forwardMin, backwardMin)) {
+                break;
+            }
+
+            // Expand the direction with the lower minimum priority
+            boolean isForward = forwardMin <= backwardMin;
+            SearchContext side = isForward ? forward : backward;
+            SearchContext other = isForward ? backward : forward;
+            IndexedHeap open = isForward ? forwardOpen : backwardOpen;
+            int targetX = isForward ? goalX : startX;
+            int targetY = isForward ? goalY : startY;
+
+            int current = open.pop();
+            nodesExpanded++;
+
+            int cx = current % width;
+            int cy = current / width;
+            double currentG = side.getG(current);
+            // Backward edges cost what entering the cell being left costs in the forward direction
+            double backwardStep = isForward ? 0 : map.getCost(cx, cy);
+
+            for (int i = 0; i < 4; i++) {
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
+                if (!map.isValid(nx, ny)) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+
+                int neighbor = ny * width + nx;
+                double tentativeG = currentG + (isForward ? type.getCost() : backwardStep);
+                if (tentativeG >= side.getG(neighbor)) {
+                    continue;
+                }
+
+                if (!side.isVisited(neighbor)) {
+                    visited++;
+                }
+                side.setG(neighbor, tentativeG, current);
+
+                double h = heuristic.compute(nx, ny, targetX, targetY, map);
+                double priority = Math.max(tentativeG + h, 2 * tentativeG);
+                open.push(neighbor, priority, tentativeG + h);
+
+                // The other side already reached this cell: a complete path
+                double otherG = other.getG(neighbor);
+                if (tentativeG + otherG < bestCost) {
+                    bestCost = tentativeG + otherG;
+                    meetCell = neighbor;
+                }
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        if (meetCell < 0) {
+            return SolverResult.failure(nodesExpanded, 0, maxMemory, elapsedMs);
+        }
+
+        List<Node> path = joinPath(meetCell, bestCost, forward, backward, map);
+        return new SolverResult(path, bestCost, nodesExpanded, 0, maxMemory, true, elapsedMs);
+    }
+
+    /**
+     * Joins start -> meet (forward parents) with meet -> goal (backward parents).
+     */
+    private List<Node> joinPath(int meetCell, double totalCost, SearchContext forward,
+                                SearchContext backward, GridMap map) {
+        // Forward half, linked from the meeting cell back to the start
+        Node meet = null;
+        Node child = null;
+        for (int cell = meetCell; cell != -1; cell = forward.getParent(cell)) {
+            Node node = new Node(map.indexToX(cell), map.indexToY(cell));
+            node.g = forward.getG(cell);
+            if (child == null) {
+                meet = node;
+            } else {
+                child.parent = node;
+            }
+            child = node;
+        }
+
+        // Backward half: each backward parent is the next cell towards the goal
+        Node end = meet;
+        for (int cell = backward.getParent(meetCell); cell != -1; cell = backward.getParent(cell)) {
+            Node node = new Node(map.indexToX(cell), map.indexToY(cell));
+            node.g = totalCost - backward.getG(cell);
+            node.parent = end;
+            end = node;
+        }
+        return reconstructPath(end);
+    }
+}
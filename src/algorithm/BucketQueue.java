@@ -0,0 +1,168 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Circular bucket queue (Dial's algorithm) over quantized F-costs.
+ * Each F-cost maps to an integer key {@code f / quantum}; a key owns one bucket, kept as an
+ * intrusive doubly-linked list of cells, so push, decrease-key and pop are O(1) amortized.
+ * Only valid for heuristics where {@link Heuristic#isQuantized()} holds.
+ *
+ * Within a bucket, ties are broken LIFO (most recently pushed first) instead of by H-cost.
+ */
+class BucketQueue implements OpenList {
+
+    private static final int NONE = -1;
+    private static final int NOT_QUEUED = Integer.MIN_VALUE;
+
+    private final double quantum;
+
+    // Intrusive lists: one link pair and key per cell
+    private final int[] next;
+    private final int[] prev;
+    private final int[] keys;
+
+    // Circular window of buckets, indexed by key & mask
+    private int[] heads;
+    private int mask;
+
+    private int minKey;   // No queued key is below this
+    private int maxKey;   // No queued key is above this
+    private int size = 0;
+
+    BucketQueue(int cellCount, double quantum) {
+        this.quantum = quantum;
+        this.next = new int[cellCount];
+        this.prev = new int[cellCount];
+        this.keys = new int[cellCount];
+        Arrays.fill(keys, NOT_QUEUED);
+        // Enough for the F-cost spread of one step (max cell cost + heuristic step)
+        this.heads = new int[64];
+        Arrays.fill(heads, NONE);
+        this.mask = heads.length - 1;
+    }
+
+    @Override
+    public void push(int cell, double f, double h) {
+        double scaled = f / quantum;
+        int key = (int) Math.round(scaled);
+        if (Math.abs(scaled - key) > 1e-9) {
+            throw new IllegalArgumentException("F-cost " + f + " is not a multiple of " + quantum);
+        }
+
+        if (keys[cell] != NOT_QUEUED) {
+            unlink(cell);
+        }
+
+        if (size == 0) {
+            minKey = key;
+            maxKey = key;
+        } else {
+            int low = Math.min(minKey, key);
+            int high = Math.max(maxKey, key);
+            if (high - low >= heads.length) {
+                grow(high - low + 1);
+            }
+            minKey = low;
+            maxKey = high;
+        }
+        link(cell, key);
+    }
+
+    @Override
+    public int pop() {
+        int bucket;
+        while ((bucket = heads[minKey & mask]) == NONE) {
+            minKey++;
+        }
+        unlink(bucket);
+        return bucket;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int cell) {
+        return keys[cell] != NOT_QUEUED;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Walks only the live window of buckets, so this is O(window + size).
+     */
+    @Override
+    public void clear() {
+        if (size > 0) {
+            for (int key = minKey; key <= maxKey; key++) {
+                int bucket = key & mask;
+                for (int cell = heads[bucket]; cell != NONE; cell = next[cell]) {
+                    keys[cell] = NOT_QUEUED;
+                }
+                heads[bucket] = NONE;
+            }
+        }
+        size = 0;
+    }
+
+    private void link(int cell, int key) {
+        int bucket = key & mask;
+        int head = heads[bucket];
+        keys[cell] = key;
+        prev[cell] = NONE;
+        next[cell] = head;
+        if (head != NONE) {
+            prev[head] = cell;
+        }
+        heads[bucket] = cell;
+        size++;
+    }
+
+    private void unlink(int cell) {
+        int before = prev[cell];
+        int after = next[cell];
+        if (before == NONE) {
+            heads[keys[cell] & mask] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after != NONE) {
+            prev[after] = before;
+        }
+        keys[cell] = NOT_QUEUED;
+        size--;
+    }
+
+    /**
+     * Widens the window to hold {@code span} consecutive keys and re-buckets the queued cells.
+     */
+    private void grow(int span) {
+        int[] oldHeads = heads;
+        int oldMask = mask;
+
+        int capacity = oldHeads.length;
+        while (capacity < span) {
+            capacity <<= 1;
+        }
+        heads = new int[capacity];
+        Arrays.fill(heads, NONE);
+        mask = capacity - 1;
+
+        int queued = size;
+        size = 0;
+        for (int key = minKey; key <= maxKey && size < queued; key++) {
+            int cell = oldHeads[key & oldMask];
+            while (cell != NONE) {
+                int following = next[cell];
+                link(cell, keys[cell]);
+                cell = following;
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package algorithm;
+
+import model.GridMap;
+import model.Node;
+
+import java.util.Arrays;
+
+/**
+ * Decorator that computes each cell's estimate once per (map, goal) and serves repeats from a
+ * table, for heuristics that are expensive to evaluate (learned models, landmarks).
+ *
+ * Solvers ask for the same cell many times: AStar every time a neighbour's G-score improves,
+ * SMA* every time it regenerates a forgotten node. The table is indexed by flat cell, NaN until
+ * the cell is first asked for, and rebuilt when the map instance or the goal changes. Quantized
+ * delegates get a {@code float[]} (half-unit estimates are exact in a float); all others get a
+ * {@code double[]}, so every estimate is returned exactly as the delegate computed it and a cached
+ * search expands the same nodes as an uncached one.
+ *
+ * The table describes the map as it was first queried: call {@link #invalidate()} after terrain
+ * edits. Not thread-safe: use one instance per thread.
+ */
+public class CachingHeuristic implements Heuristic {
+
+    private final Heuristic delegate;
+
+    // Table for the current (map, goal); null until the first query
+    private GridMap cachedMap = null;
+    private int cachedGoalX = -1;
+    private int cachedGoalY = -1;
+    private final boolean quantized;
+    private float[] values = new float[0];          // Quantized delegates
+    private double[] exactValues = new double[0];   // All other delegates
+
+    private long hits = 0;
+    private long misses = 0;
+
+    public CachingHeuristic(Heuristic delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate heuristic must not be null");
+        }
+        this.delegate = delegate;
+        this.quantized = delegate.isQuantized();
+    }
+
+    /**
+     * Wraps the delegate and fills the table for the map's goal up front.
+     */
+    public static CachingHeuristic precomputed(Heuristic delegate, GridMap map) {
+        CachingHeuristic heuristic = new CachingHeuristic(delegate);
+        heuristic.precompute(map, map.getGoalX(), map.getGoalY());
+        return heuristic;
+    }
+
+    /**
+     * Computes the estimate of every traversable cell for this (map, goal), so later queries are
+     * all hits. Precomputed cells are not counted as misses.
+     */
+    public void precompute(GridMap map, int goalX, int goalY) {
+        bind(map, goalX, goalY);
+        int width = map.getWidth();
+        int cellCount = map.getCellCount();
+        for (int cell = 0; cell < cellCount; cell++) {
+            int x = cell % width;
+            int y = cell / width;
+            if (map.getCellType(x, y).isTraversable()) {
+                if (quantized && Float.isNaN(values[cell])) {
+                    values[cell] = (float) delegate.compute(x, y, goalX, goalY, map);
+                } else if (!quantized && Double.isNaN(exactValues[cell])) {
+                    exactValues[cell] = delegate.compute(x, y, goalX, goalY, map);
+                }
+            }
+        }
+    }
+
+    @Override
+    public double compute(Node current, Node goal, GridMap map) {
+        return compute(current.x, current.y, goal.x, goal.y, map);
+    }
+
+    @Override
+    public double compute(int x, int y, int goalX, int goalY, GridMap map) {
+        if (map != cachedMap || goalX != cachedGoalX || goalY != cachedGoalY) {
+            bind(map, goalX, goalY);
+        }
+        int cell = y * map.getWidth() + x;
+        double value = quantized ? values[cell] : exactValues[cell];
+        if (Double.isNaN(value)) {
+            misses++;
+            value = delegate.compute(x, y, goalX, goalY, map);
+            if (quantized) {
+                values[cell] = (float) value;
+            } else {
+                exactValues[cell] = value;
+            }
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    @Override
+    public void computeBatch(int[] xs, int[] ys, int count, int goalX, int goalY, GridMap map, double[] out) {
+        for (int n = 0; n < count; n++) {
+            out[n] = compute(xs[n], ys[n], goalX, goalY, map);
+        }
+    }
+
+    @Override
+    public boolean isQuantized() {
+        return delegate.isQuantized();
+    }
+
+    /**
+     * Forgets every stored estimate (the statistics are kept).
+     */
+    public void invalidate() {
+        cachedMap = null;
+    }
+
+    public Heuristic getDelegate() {
+        return delegate;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Share of queries answered from the table (0 before the first query).
+     */
+    public double getHitRate() {
+        long queries = hits + misses;
+        return queries == 0 ? 0.0 : (double) hits / queries;
+    }
+
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * @return Bytes held by the table (4 per cell for quantized delegates, 8 otherwise).
+     */
+    public long footprintBytes() {
+        return 4L * values.length + 8L * exactValues.length;
+    }
+
+    private void bind(GridMap map, int goalX, int goalY) {
+        if (map == cachedMap && goalX == cachedGoalX && goalY == cachedGoalY) {
+            return;
+        }
+        int cellCount = map.getCellCount();
+        if (quantized) {
+            if (values.length != cellCount) {
+                values = new float[cellCount];
+            }
+            Arrays.fill(values, Float.NaN);
+        } else {
+            if (exactValues.length != cellCount) {
+                exactValues = new double[cellCount];
+            }
+            Arrays.fill(exactValues, Double.NaN);
+        }
+        cachedMap = map;
+        cachedGoalX = goalX;
+        cachedGoalY = goalY;
+    }
+}
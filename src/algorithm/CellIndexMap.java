@@ -0,0 +1,137 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from cell index to an int (e.g. a heap slot).
+ * Linear probing with backward-shift deletion, so there are no tombstones and
+ * lookups stay O(1) however many entries come and go. Memory grows with the
+ * number of entries, not with the map size, which suits the memory-bounded solvers.
+ */
+class CellIndexMap {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int shift;
+    private int size = 0;
+
+    CellIndexMap(int expectedEntries) {
+        allocate(tableSize(expectedEntries));
+    }
+
+    /**
+     * @return Bytes held by a map sized for {@code expectedEntries} (before any growth).
+     */
+    static long footprintFor(int expectedEntries) {
+        return 8L * tableSize(expectedEntries);
+    }
+
+    private static int tableSize(int expectedEntries) {
+        int capacity = 16;
+        while (capacity < expectedEntries * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * @return The value stored for the cell, or -1 if absent.
+     */
+    int get(int cell) {
+        int slot = slotOf(cell);
+        return keys[slot] == EMPTY ? -1 : values[slot];
+    }
+
+    boolean containsKey(int cell) {
+        return keys[slotOf(cell)] != EMPTY;
+    }
+
+    void put(int cell, int value) {
+        int slot = slotOf(cell);
+        if (keys[slot] == EMPTY) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length * 2);
+                slot = slotOf(cell);
+            }
+            keys[slot] = cell;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    void remove(int cell) {
+        int slot = slotOf(cell);
+        if (keys[slot] == EMPTY) {
+            return;
+        }
+        size--;
+        // Backward-shift: pull later entries of the probe run into the hole
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]);
+            // Move the entry if its home slot is not inside (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+    }
+
+    /**
+     * @return Bytes held by the table arrays.
+     */
+    long footprintBytes() {
+        return 8L * keys.length;
+    }
+
+    private int slotOf(int cell) {
+        int slot = hash(cell);
+        while (keys[slot] != EMPTY && keys[slot] != cell) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int hash(int cell) {
+        // Fibonacci hashing spreads row-major neighbours across the table
+        return (cell * 0x9E3779B9) >>> shift;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
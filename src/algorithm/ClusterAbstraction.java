@@ -0,0 +1,294 @@
+package algorithm;
+
+import model.GridMap;
+
+import java.util.Arrays;
+
+/**
+ * HPA* abstract graph of one GridMap (Botea, Müller & Schaeffer, "Near Optimal Hierarchical
+ * Path-Finding").
+ *
+ * The grid is cut into square clusters. Along each border between two clusters, every run of
+ * cell pairs that are traversable on both sides becomes an entrance: one transition in the middle
+ * of a short run, one at each end of a long one. The two cells of a transition are abstract nodes
+ * joined by inter-edges; nodes of the same cluster are joined by intra-edges whose costs come from
+ * a Dijkstra confined to the cluster. Costs are directed (entering a cell costs that cell).
+ *
+ * Built once per map and immutable afterwards, so one instance serves every heuristic and query,
+ * from any number of threads. The map must not change after the build.
+ */
+public final class ClusterAbstraction {
+
+    // Runs at least this long get two transitions (one per end) instead of one
+    private static final int LONG_ENTRANCE = 6;
+
+    private final GridMap map;
+    private final int clusterSize;
+    private final int clustersX;
+    private final int clustersY;
+
+    // Abstract nodes: map cell per node, nodes grouped by cluster (CSR)
+    private final int[] nodeCells;
+    private final int[] clusterNodeStart;
+    private final int[] clusterNodes;
+    private final CellIndexMap cellToNode;
+
+    // Directed edges in CSR form
+    private final int[] edgeStart;
+    private final int[] edgeTargets;
+    private final double[] edgeCosts;
+
+    private final long buildTimeNs;
+
+    private ClusterAbstraction(GridMap map, int clusterSize) {
+        long startTime = System.nanoTime();
+        this.map = map;
+        this.clusterSize = clusterSize;
+        this.clustersX = (map.getWidth() + clusterSize - 1) / clusterSize;
+        this.clustersY = (map.getHeight() + clusterSize - 1) / clusterSize;
+
+        // 1. Entrances -> abstract nodes and inter-edges
+        Builder builder = new Builder();
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                if (cx + 1 < clustersX) {
+                    int x = (cx + 1) * clusterSize - 1;
+                    builder.addEntrances(x, cy * clusterSize, 0, 1, Math.min(map.getHeight(), (cy + 1) * clusterSize), 1, 0);
+                }
+                if (cy + 1 < clustersY) {
+                    int y = (cy + 1) * clusterSize - 1;
+                    builder.addEntrances(cx * clusterSize, y, 1, 0, Math.min(map.getWidth(), (cx + 1) * clusterSize), 0, 1);
+                }
+            }
+        }
+        this.nodeCells = Arrays.copyOf(builder.nodeCells, builder.nodeCount);
+        this.cellToNode = builder.cellToNode;
+
+        // 2. Group nodes by cluster
+        int clusterCount = clustersX * clustersY;
+        this.clusterNodeStart = new int[clusterCount + 1];
+        for (int cell : nodeCells) {
+            clusterNodeStart[clusterOf(cell) + 1]++;
+        }
+        for (int c = 0; c < clusterCount; c++) {
+            clusterNodeStart[c + 1] += clusterNodeStart[c];
+        }
+        this.clusterNodes = new int[nodeCells.length];
+        int[] fill = Arrays.copyOf(clusterNodeStart, clusterCount);
+        for (int node = 0; node < nodeCells.length; node++) {
+            clusterNodes[fill[clusterOf(nodeCells[node])]++] = node;
+        }
+
+        // 3. Intra-edges: one confined Dijkstra per abstract node
+        ClusterSearch search = new ClusterSearch(map, clusterSize);
+        for (int c = 0; c < clusterCount; c++) {
+            int x0 = (c % clustersX) * clusterSize;
+            int y0 = (c / clustersX) * clusterSize;
+            for (int i = clusterNodeStart[c]; i < clusterNodeStart[c + 1]; i++) {
+                int from = clusterNodes[i];
+                search.run(nodeCells[from], x0, y0, false, -1);
+                for (int j = clusterNodeStart[c]; j < clusterNodeStart[c + 1]; j++) {
+                    int to = clusterNodes[j];
+                    double cost = search.dist(nodeCells[to]);
+                    if (to != from && cost < Double.POSITIVE_INFINITY) {
+                        builder.addEdge(from, to, cost);
+                    }
+                }
+            }
+        }
+
+        // 4. Edges to CSR
+        int nodeCount = nodeCells.length;
+        this.edgeStart = new int[nodeCount + 1];
+        for (int e = 0; e < builder.edgeCount; e++) {
+            edgeStart[builder.edgeFrom[e] + 1]++;
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            edgeStart[n + 1] += edgeStart[n];
+        }
+        this.edgeTargets = new int[builder.edgeCount];
+        this.edgeCosts = new double[builder.edgeCount];
+        int[] next = Arrays.copyOf(edgeStart, nodeCount);
+        for (int e = 0; e < builder.edgeCount; e++) {
+            int slot = next[builder.edgeFrom[e]]++;
+            edgeTargets[slot] = builder.edgeTo[e];
+            edgeCosts[slot] = builder.edgeCost[e];
+        }
+
+        this.buildTimeNs = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Builds the abstraction of a map.
+     * @param clusterSize Side of the square clusters, in cells.
+     */
+    public static ClusterAbstraction build(GridMap map, int clusterSize) {
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2, got " + clusterSize);
+        }
+        return new ClusterAbstraction(map, clusterSize);
+    }
+
+    /**
+     * @return The map this abstraction was built from.
+     */
+    public GridMap getMap() {
+        return map;
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public int getNodeCount() {
+        return nodeCells.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeTargets.length;
+    }
+
+    /**
+     * @return Wall-clock time spent building, in nanoseconds.
+     */
+    public long getBuildTimeNs() {
+        return buildTimeNs;
+    }
+
+    /**
+     * @return Bytes held by the abstraction's arrays.
+     */
+    public long footprintBytes() {
+        return 4L * (nodeCells.length + clusterNodeStart.length + clusterNodes.length
+                + edgeStart.length + edgeTargets.length)
+                + 8L * edgeCosts.length
+                + cellToNode.footprintBytes();
+    }
+
+    // --- Package-private graph access for HPAStar ---
+
+    int clusterOf(int cell) {
+        int width = map.getWidth();
+        return (cell / width / clusterSize) * clustersX + (cell % width) / clusterSize;
+    }
+
+    int clusterX0(int cluster) {
+        return (cluster % clustersX) * clusterSize;
+    }
+
+    int clusterY0(int cluster) {
+        return (cluster / clustersX) * clusterSize;
+    }
+
+    int nodeCell(int node) {
+        return nodeCells[node];
+    }
+
+    /**
+     * @return The abstract node at the cell, or -1.
+     */
+    int nodeAt(int cell) {
+        return cellToNode.get(cell);
+    }
+
+    int clusterNodesStart(int cluster) {
+        return clusterNodeStart[cluster];
+    }
+
+    int clusterNodesEnd(int cluster) {
+        return clusterNodeStart[cluster + 1];
+    }
+
+    int clusterNode(int index) {
+        return clusterNodes[index];
+    }
+
+    int edgesStart(int node) {
+        return edgeStart[node];
+    }
+
+    int edgesEnd(int node) {
+        return edgeStart[node + 1];
+    }
+
+    int edgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    double edgeCost(int edge) {
+        return edgeCosts[edge];
+    }
+
+    /**
+     * Growable build-time buffers.
+     */
+    private final class Builder {
+        int[] nodeCells = new int[64];
+        int nodeCount = 0;
+        final CellIndexMap cellToNode = new CellIndexMap(64);
+
+        int[] edgeFrom = new int[256];
+        int[] edgeTo = new int[256];
+        double[] edgeCost = new double[256];
+        int edgeCount = 0;
+
+        /**
+         * Scans one border: cells (x, y) + k * (stepX, stepY) on the near side, and the cells
+         * offset by (crossX, crossY) on the far side, until the coordinate reaches {@code end}.
+         */
+        void addEntrances(int x, int y, int stepX, int stepY, int end, int crossX, int crossY) {
+            int runStart = -1;
+            int length = stepX != 0 ? end - x : end - y;
+            for (int k = 0; k <= length; k++) {
+                boolean open = k < length
+                        && map.getCellType(x + k * stepX, y + k * stepY).isTraversable()
+                        && map.getCellType(x + k * stepX + crossX, y + k * stepY + crossY).isTraversable();
+                if (open && runStart < 0) {
+                    runStart = k;
+                } else if (!open && runStart >= 0) {
+                    int runEnd = k - 1;
+                    if (runEnd - runStart + 1 >= LONG_ENTRANCE) {
+                        addTransition(x + runStart * stepX, y + runStart * stepY, crossX, crossY);
+                        addTransition(x + runEnd * stepX, y + runEnd * stepY, crossX, crossY);
+                    } else {
+                        int mid = (runStart + runEnd) / 2;
+                        addTransition(x + mid * stepX, y + mid * stepY, crossX, crossY);
+                    }
+                    runStart = -1;
+                }
+            }
+        }
+
+        private void addTransition(int x, int y, int crossX, int crossY) {
+            int near = nodeFor(map.toIndex(x, y));
+            int far = nodeFor(map.toIndex(x + crossX, y + crossY));
+            addEdge(near, far, map.getCost(x + crossX, y + crossY));
+            addEdge(far, near, map.getCost(x, y));
+        }
+
+        private int nodeFor(int cell) {
+            int node = cellToNode.get(cell);
+            if (node < 0) {
+                if (nodeCount == nodeCells.length) {
+                    nodeCells = Arrays.copyOf(nodeCells, nodeCount * 2);
+                }
+                node = nodeCount++;
+                nodeCells[node] = cell;
+                cellToNode.put(cell, node);
+            }
+            return node;
+        }
+
+        void addEdge(int from, int to, double cost) {
+            if (edgeCount == edgeFrom.length) {
+                edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+                edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+                edgeCost = Arrays.copyOf(edgeCost, edgeCount * 2);
+            }
+            edgeFrom[edgeCount] = from;
+            edgeTo[edgeCount] = to;
+            edgeCost[edgeCount] = cost;
+            edgeCount++;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra confined to one rectangular cluster of the grid (HPA* building block).
+ * Arrays are sized for the cluster, not the map, and reset by generation stamps.
+ *
+ * A forward run gives the cost from the source to each cell (entering a cell costs that cell);
+ * a reverse run gives the cost from each cell to the source, so it charges the cell being left.
+ */
+class ClusterSearch {
+
+    private final GridMap map;
+    private final int clusterSize;
+
+    private final double[] dist;
+    private final int[] parents;   // Map cell index of the parent (-1 = source)
+    private final int[] stamps;
+    private final IndexedHeap heap;
+    private int generation = 0;
+
+    // Bounds of the current run (x1/y1 exclusive)
+    private int x0, y0, x1, y1;
+
+    int nodesExpanded = 0;
+
+    ClusterSearch(GridMap map, int clusterSize) {
+        this.map = map;
+        this.clusterSize = clusterSize;
+        int area = clusterSize * clusterSize;
+        this.dist = new double[area];
+        this.parents = new int[area];
+        this.stamps = new int[area];
+        this.heap = new IndexedHeap(area);
+    }
+
+    /**
+     * Runs Dijkstra from {@code source} inside the cluster starting at (x0, y0).
+     * @param reverse Compute costs towards the source instead of away from it.
+     * @param target Cell at which to stop early, or -1 to settle the whole cluster.
+     */
+    void run(int source, int clusterX0, int clusterY0, boolean reverse, int target) {
+        x0 = clusterX0;
+        y0 = clusterY0;
+        x1 = Math.min(map.getWidth(), x0 + clusterSize);
+        y1 = Math.min(map.getHeight(), y0 + clusterSize);
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            generation = 0;
+        }
+        generation++;
+        heap.clear();
+
+        int width = map.getWidth();
+        set(source, 0, -1);
+        heap.push(local(source), 0, 0);
+
+        while (!heap.isEmpty()) {
+            int current = global(heap.pop());
+            if (current == target) {
+                return;
+            }
+            nodesExpanded++;
+
+            int cx = current % width;
+            int cy = current / width;
+            double currentDist = dist[local(current)];
+            double leaveCost = reverse ? map.getCost(cx, cy) : 0;
+
+            for (int i = 0; i < 4; i++) {
+                int nx = cx + PathFinder.DX[i];
+                int ny = cy + PathFinder.DY[i];
+                if (nx < x0 || nx >= x1 || ny < y0 || ny >= y1) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+                int neighbor = ny * width + nx;
+                double d = currentDist + (reverse ? leaveCost : type.getCost());
+                if (d < dist(neighbor)) {
+                    set(neighbor, d, current);
+                    heap.push(local(neighbor), d, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Cost found by the last run, or +Infinity if the cell was not reached (or is outside).
+     */
+    double dist(int cell) {
+        int x = cell % map.getWidth();
+        int y = cell / map.getWidth();
+        if (x < x0 || x >= x1 || y < y0 || y >= y1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int local = local(cell);
+        return stamps[local] == generation ? dist[local] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return The previous cell on the way from the source (-1 for the source).
+     */
+    int parentOf(int cell) {
+        return parents[local(cell)];
+    }
+
+    private void set(int cell, double d, int parent) {
+        int local = local(cell);
+        dist[local] = d;
+        parents[local] = parent;
+        stamps[local] = generation;
+    }
+
+    private int local(int cell) {
+        int width = map.getWidth();
+        return (cell / width - y0) * clusterSize + (cell % width - x0);
+    }
+
+    private int global(int local) {
+        return (y0 + local / clusterSize) * map.getWidth() + x0 + local % clusterSize;
+    }
+}
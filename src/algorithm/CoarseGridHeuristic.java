@@ -0,0 +1,251 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.Arrays;
+
+/**
+ * Abstraction heuristic on a coarse grid (a one-goal pattern database).
+ *
+ * Every step before the goal costs at least 0.5 (the goal step is free), so half a unit per step
+ * but the last is a floor; this heuristic adds a lower bound on the cost above that floor. The map
+ * is cut into square blocks, and each block is priced at its cheapest traversable cell minus 0.5.
+ * Two blocks are linked if some traversable pair of cells touches across their border. The abstract state is (block, side it was entered
+ * through): entering a block is one step in it, and crossing to the opposite side takes at least
+ * (extent - 1) more. One Dijkstra from the goal's block gives the exact abstract cost-to-goal of
+ * every state, and a query adds the steps from the cell to each side of its block.
+ * The estimate is admissible and consistent, except for paths through START, the one other cell
+ * under the floor. It can be 0.5 below SCALED_MANHATTAN, which overestimates next to the goal.
+ *
+ * Built per (map, goal): other maps or goals get plain SCALED_MANHATTAN.
+ */
+public class CoarseGridHeuristic implements Heuristic {
+
+    public static final int DEFAULT_BLOCK_SIZE = 2;
+
+    // Cheapest step on any map (SHORTCUT), the scale of SCALED_MANHATTAN
+    private static final double STEP_FLOOR = 0.5;
+
+    private final GridMap map;
+    private final int goalX;
+    private final int goalY;
+    private final int goalBlock;
+    private final int blockSize;
+    private final int blocksX;
+    private final int blocksY;
+
+    // Cost above the floor of the cheapest ordinary cell in the block (+Infinity if none)
+    private final float[] stepCost;
+    // Cost above the floor from leaving block b through side d, at [b * 4 + d] (+Infinity if closed)
+    private final float[] exitCost;
+    private final long preprocessingTimeNs;
+
+    private CoarseGridHeuristic(GridMap map, int blockSize) {
+        long startTime = System.nanoTime();
+        this.map = map;
+        this.goalX = map.getGoalX();
+        this.goalY = map.getGoalY();
+        this.blockSize = blockSize;
+        this.blocksX = (map.getWidth() + blockSize - 1) / blockSize;
+        this.blocksY = (map.getHeight() + blockSize - 1) / blockSize;
+        this.goalBlock = blockOf(goalX, goalY);
+        int blockCount = blocksX * blocksY;
+
+        // 1. Block prices and links (bit d set: the block reaches its neighbour in direction d).
+        // START and GOAL cost nothing and are left out of the price.
+        double[] price = new double[blockCount];
+        Arrays.fill(price, Double.POSITIVE_INFINITY);
+        byte[] links = new byte[blockCount];
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                CellType type = map.getCellType(x, y);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+                int block = blockOf(x, y);
+                if (type != CellType.START && type != CellType.GOAL) {
+                    price[block] = Math.min(price[block], type.getCost() - STEP_FLOOR);
+                }
+                for (int d = 0; d < 4; d++) {
+                    int nx = x + PathFinder.DX[d];
+                    int ny = y + PathFinder.DY[d];
+                    if (map.isValid(nx, ny) && blockOf(nx, ny) != block
+                            && map.getCellType(nx, ny).isTraversable()) {
+                        links[block] |= 1 << d;
+                    }
+                }
+            }
+        }
+
+        // 2. Dijkstra over (block, entry side) states. A state's cost counts the step that enters
+        // the block. Seeds: in the goal's block, k cells separate the entry side from the goal,
+        // and every step but the last (onto the goal) is priced.
+        double[] toGoal = new double[blockCount * 4];
+        Arrays.fill(toGoal, Double.POSITIVE_INFINITY);
+        BucketQueue queue = new BucketQueue(blockCount * 4, CellType.COST_QUANTUM);
+        for (int side = 0; side < 4; side++) {
+            int state = goalBlock * 4 + side;
+            toGoal[state] = steps(toSide(goalBlock, goalX, goalY, side), price[goalBlock]);
+            if (toGoal[state] < Double.POSITIVE_INFINITY) {
+                queue.push(state, toGoal[state], 0);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.pop();
+            int block = state / 4;
+            int side = state % 4;
+            // Predecessor: the block that left through d = side ^ 1 into this one
+            int d = side ^ 1;
+            int from = neighborBlock(block, side);
+            if (from < 0 || (links[from] & (1 << d)) == 0) {
+                continue;
+            }
+            for (int entered = 0; entered < 4; entered++) {
+                int inside = entered == side ? extent(from, d) : 1;
+                double candidate = toGoal[state] + steps(inside, price[from]);
+                int previous = from * 4 + entered;
+                if (candidate < toGoal[previous]) {
+                    toGoal[previous] = candidate;
+                    queue.push(previous, candidate, 0);
+                }
+            }
+        }
+
+        // 3. Keep what a query needs: price per block and cost after each exit
+        this.stepCost = new float[blockCount];
+        this.exitCost = new float[blockCount * 4];
+        Arrays.fill(exitCost, Float.POSITIVE_INFINITY);
+        for (int block = 0; block < blockCount; block++) {
+            stepCost[block] = (float) price[block];
+            for (int d = 0; d < 4; d++) {
+                int next = neighborBlock(block, d);
+                if (next >= 0 && (links[block] & (1 << d)) != 0) {
+                    exitCost[block * 4 + d] = (float) toGoal[next * 4 + (d ^ 1)];
+                }
+            }
+        }
+        this.preprocessingTimeNs = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Builds the abstraction for the map's current goal.
+     * @param blockSize Side of the square blocks, in cells.
+     */
+    public static CoarseGridHeuristic build(GridMap map, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1, got " + blockSize);
+        }
+        return new CoarseGridHeuristic(map, blockSize);
+    }
+
+    @Override
+    public double compute(Node a, Node b, GridMap map) {
+        return compute(a.x, a.y, b.x, b.y, map);
+    }
+
+    @Override
+    public double compute(int x, int y, int goalX, int goalY, GridMap map) {
+        if (map != this.map || goalX != this.goalX || goalY != this.goalY) {
+            return HeuristicType.SCALED_MANHATTAN.compute(x, y, goalX, goalY, map);
+        }
+
+        int distance = Math.abs(x - goalX) + Math.abs(y - goalY);
+        double floor = STEP_FLOOR * Math.max(0, distance - 1);
+        int block = blockOf(x, y);
+        float price = stepCost[block];
+        double extra = block == goalBlock ? steps(Math.max(0, distance - 1), price) : Double.POSITIVE_INFINITY;
+        for (int d = 0; d < 4; d++) {
+            float exit = exitCost[block * 4 + d];
+            if (exit != Float.POSITIVE_INFINITY) {
+                extra = Math.min(extra, steps(toSide(block, x, y, d), price) + exit);
+            }
+        }
+        // No abstract route means no real one either; leave that to the search
+        if (extra == Double.POSITIVE_INFINITY) {
+            return floor;
+        }
+        return floor + extra;
+    }
+
+    /**
+     * Prices and the floor are multiples of half a unit, so every estimate is too.
+     */
+    @Override
+    public boolean isQuantized() {
+        return true;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getBlockCount() {
+        return stepCost.length;
+    }
+
+    /**
+     * @return Wall-clock time spent building the abstraction, in nanoseconds.
+     */
+    public long getPreprocessingTimeNs() {
+        return preprocessingTimeNs;
+    }
+
+    /**
+     * @return Bytes held by the query tables.
+     */
+    public long footprintBytes() {
+        return 4L * (stepCost.length + exitCost.length);
+    }
+
+    private int blockOf(int x, int y) {
+        return (y / blockSize) * blocksX + x / blockSize;
+    }
+
+    /**
+     * @return The block next to {@code block} in direction d, or -1 past the edge.
+     */
+    private int neighborBlock(int block, int d) {
+        int bx = block % blocksX + PathFinder.DX[d];
+        int by = block / blocksX + PathFinder.DY[d];
+        if (bx < 0 || bx >= blocksX || by < 0 || by >= blocksY) {
+            return -1;
+        }
+        return by * blocksX + bx;
+    }
+
+    /**
+     * @return Cells of the block along direction d (edge blocks may be cut short).
+     */
+    private int extent(int block, int d) {
+        if (d < 2) {
+            int y0 = (block / blocksX) * blockSize;
+            return Math.min(map.getHeight(), y0 + blockSize) - y0;
+        }
+        int x0 = (block % blocksX) * blockSize;
+        return Math.min(map.getWidth(), x0 + blockSize) - x0;
+    }
+
+    /**
+     * @return Steps from (x, y) to the block's border on side d.
+     */
+    private int toSide(int block, int x, int y, int d) {
+        int x0 = (block % blocksX) * blockSize;
+        int y0 = (block / blocksX) * blockSize;
+        switch (d) {
+            case 0: return y - y0;
+            case 1: return y0 + extent(block, 1) - 1 - y;
+            case 2: return x - x0;
+            default: return x0 + extent(block, 3) - 1 - x;
+        }
+    }
+
+    /**
+     * @return Cost of {@code count} steps at {@code price} each (0 steps are free even when the
+     *         block has no cell to step on).
+     */
+    private static double steps(int count, double price) {
+        return count == 0 ? 0 : count * price;
+    }
+}
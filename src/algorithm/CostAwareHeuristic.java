@@ -12,12 +12,17 @@ public class CostAwareHeuristic implements Heuristic {
 
     @Override
     public double compute(Node a, Node b, GridMap map) {
-        double dist = Math.abs(a.x - b.x) + Math.abs(a.y - b.y);
+        return compute(a.x, a.y, b.x, b.y, map);
+    }
+
+    @Override
+    public double compute(int x, int y, int goalX, int goalY, GridMap map) {
+        double dist = Math.abs(x - goalX) + Math.abs(y - goalY);
 
         // As per prompt logic: if target cell cost is < 1.0 (Shortcut), reduce estimate by 20%.
         // Note: In standard A*, 'b' is usually the Goal. This heuristic implies
         // a specific usage or an experimental weighting logic provided by the spec.
-        double multiplier = (map.getCost(b.x, b.y) < 1.0) ? 0.8 : 1.0;
+        double multiplier = (map.getCost(goalX, goalY) < 1.0) ? 0.8 : 1.0;
 
         return dist * multiplier;
     }
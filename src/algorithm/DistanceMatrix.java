@@ -0,0 +1,199 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Many-to-many exact path costs between points of interest on one map.
+ *
+ * One Dijkstra per source (on a {@link BucketQueue}) instead of one A* per pair; each stops as
+ * soon as every reachable target is settled. Rows run in parallel on a ForkJoinPool, and each
+ * worker thread keeps its search buffers between rows and calls, stamped with a generation counter
+ * so a row only touches the cells it reaches.
+ *
+ * Costs follow the solvers' convention (every entered cell is charged, the source is not), so
+ * the cost from a cell to itself is 0 even for a wall, matching {@link GoalDistanceField};
+ * between two different cells a wall endpoint is unreachable. Half-unit costs are exact in a
+ * float, so the flat {@code float[]} form loses nothing.
+ */
+public final class DistanceMatrix {
+
+    // Rows per leaf task: one Dijkstra is already coarse enough to schedule on its own
+    private static final int ROWS_PER_TASK = 1;
+
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private DistanceMatrix() {
+    }
+
+    /**
+     * Runs on the common pool.
+     * @return Cost from sources[i] to targets[j] at [i][j], +Infinity where unreachable.
+     */
+    public static double[][] compute(GridMap map, int[] sources, int[] targets) {
+        return compute(map, sources, targets, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param sources Flat cell indices ({@link GridMap#toIndex}).
+     * @param targets Flat cell indices; duplicates are allowed.
+     * @return Cost from sources[i] to targets[j] at [i][j], +Infinity where unreachable.
+     */
+    public static double[][] compute(GridMap map, int[] sources, int[] targets, ForkJoinPool pool) {
+        float[] flat = computeFlat(map, sources, targets, pool);
+        double[][] matrix = new double[sources.length][targets.length];
+        for (int i = 0; i < sources.length; i++) {
+            for (int j = 0; j < targets.length; j++) {
+                matrix[i][j] = flat[i * targets.length + j];
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Compact form of {@link #compute}: row-major, cost from sources[i] to targets[j] at
+     * {@code i * targets.length + j}.
+     */
+    public static float[] computeFlat(GridMap map, int[] sources, int[] targets, ForkJoinPool pool) {
+        int cellCount = map.getCellCount();
+        for (int cell : sources) {
+            checkCell(cell, cellCount);
+        }
+        for (int cell : targets) {
+            checkCell(cell, cellCount);
+        }
+        float[] out = new float[sources.length * targets.length];
+        pool.invoke(new RowTask(map, sources, targets, out, 0, sources.length));
+        return out;
+    }
+
+    private static void checkCell(int cell, int cellCount) {
+        if (cell < 0 || cell >= cellCount) {
+            throw new IllegalArgumentException("Cell " + cell + " is outside the map");
+        }
+    }
+
+    /**
+     * Splits the source rows in halves until they are small enough to run.
+     */
+    private static final class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GridMap map;
+        private final int[] sources;
+        private final int[] targets;
+        private final float[] out;
+        private final int from;
+        private final int to;
+
+        RowTask(GridMap map, int[] sources, int[] targets, float[] out, int from, int to) {
+            this.map = map;
+            this.sources = sources;
+            this.targets = targets;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                Buffers buffers = BUFFERS.get();
+                for (int row = from; row < to; row++) {
+                    buffers.fillRow(map, sources[row], targets, out, row * targets.length);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowTask(map, sources, targets, out, from, mid),
+                    new RowTask(map, sources, targets, out, mid, to));
+        }
+    }
+
+    /**
+     * Per-thread search state, reset in O(1) by bumping the generation.
+     */
+    private static final class Buffers {
+        private double[] dist = new double[0];
+        private int[] reached = new int[0];     // Generation that set dist
+        private int[] wanted = new int[0];      // Generation that marked the cell as a target
+        private BucketQueue queue = null;
+        private int generation = 0;
+
+        void fillRow(GridMap map, int source, int[] targets, float[] out, int offset) {
+            int width = map.getWidth();
+            int cellCount = map.getCellCount();
+            if (dist.length < cellCount) {
+                dist = new double[cellCount];
+                reached = new int[cellCount];
+                wanted = new int[cellCount];
+                queue = new BucketQueue(cellCount, CellType.COST_QUANTUM);
+                generation = 0;
+            }
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(reached, 0);
+                Arrays.fill(wanted, 0);
+                generation = 0;
+            }
+            int gen = ++generation;
+
+            // Targets that can be settled at all (walls never are)
+            int remaining = 0;
+            for (int target : targets) {
+                if (wanted[target] != gen && map.getCellType(target % width, target / width).isTraversable()) {
+                    wanted[target] = gen;
+                    remaining++;
+                }
+            }
+
+            if (remaining > 0 && map.getCellType(source % width, source / width).isTraversable()) {
+                dist[source] = 0;
+                reached[source] = gen;
+                queue.push(source, 0, 0);
+                while (!queue.isEmpty()) {
+                    int current = queue.pop();
+                    if (wanted[current] == gen && --remaining == 0) {
+                        break; // Every target settled
+                    }
+                    int cx = current % width;
+                    int cy = current / width;
+                    double currentDist = dist[current];
+                    for (int i = 0; i < 4; i++) {
+                        int nx = cx + PathFinder.DX[i];
+                        int ny = cy + PathFinder.DY[i];
+                        if (!map.isValid(nx, ny)) {
+                            continue;
+                        }
+                        CellType type = map.getCellType(nx, ny);
+                        if (!type.isTraversable()) {
+                            continue;
+                        }
+                        int neighbor = ny * width + nx;
+                        double d = currentDist + type.getCost();
+                        if (reached[neighbor] != gen || d < dist[neighbor]) {
+                            dist[neighbor] = d;
+                            reached[neighbor] = gen;
+                            queue.push(neighbor, d, 0);
+                        }
+                    }
+                }
+                queue.clear();
+            }
+
+            // Settled or exhausted: every reached target holds its final cost. A cell is 0 from
+            // itself even if it is a wall, as in GoalDistanceField
+            for (int j = 0; j < targets.length; j++) {
+                int target = targets[j];
+                if (target == source) {
+                    out[offset + j] = 0f;
+                } else {
+                    out[offset + j] = reached[target] == gen ? (float) dist[target] : Float.POSITIVE_INFINITY;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Disk-backed A*: instead of pruning like SMA*, it keeps all its work and spills it to
+ * memory-mapped files.
+ * The per-cell G-scores and parents (the closed set) live in a {@link MappedCellTable}, and the
+ * Open Set is a {@link SpillingOpenList} whose in-heap hot window holds at most
+ * {@code maxMemory} entries (the same limit SMAStar gets); the rest goes to sorted runs on disk.
+ * Search order and result are those of A* with lazy duplicates.
+ */
+public class ExternalMemoryAStar extends PathFinder {
+
+    private final int maxMemory;
+
+    public ExternalMemoryAStar(int maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        // Default timeout of 60 seconds if not specified
+        return solve(map, heuristic, 60000).path;
+    }
+
+    /**
+     * Solves the pathfinding problem with at most {@code maxMemory} Open Set entries in the heap.
+     * {@link SolverResult#prunedNodes} counts entries spilled to disk (none are lost), and
+     * {@link SolverResult#memoryUsed} the peak number of in-heap entries.
+     * @param timeoutMs Maximum execution time in milliseconds.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs) {
+        long startTime = System.nanoTime();
+        long timeoutNs = timeoutMs * 1_000_000L;
+
+        int nodesExpanded = 0;
+        try (MappedCellTable cells = new MappedCellTable(map.getCellCount());
+             SpillingOpenList openSet = new SpillingOpenList(maxMemory)) {
+
+            int width = map.getWidth();
+            int goalX = map.getGoalX();
+            int goalY = map.getGoalY();
+            int startCell = map.toIndex(map.getStartX(), map.getStartY());
+            int goalCell = map.toIndex(goalX, goalY);
+
+            cells.setG(startCell, 0, -1);
+            openSet.push(startCell, 0, heuristic.compute(map.getStartX(), map.getStartY(), goalX, goalY, map));
+
+            while (!openSet.isEmpty()) {
+                // --- TIMEOUT CHECK ---
+                long elapsedNs = System.nanoTime() - startTime;
+                if (elapsedNs > timeoutNs) {
+                    return new SolverResult(
+                            null, Double.POSITIVE_INFINITY,
+                            nodesExpanded, openSet.spilledEntries(), openSet.peakHot(),
+                            false, elapsedNs / 1_000_000L
+                    );
+                }
+
+                openSet.pop();
+                int current = openSet.poppedCell();
+                double currentG = openSet.poppedG();
+
+                // Lazy duplicate: a better path to this cell was found after it was queued
+                if (currentG > cells.getG(current)) {
+                    continue;
+                }
+
+                if (current == goalCell) {
+                    List<Node> path = buildPath(cells, current, map);
+                    long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+                    return new SolverResult(
+                            path, currentG, nodesExpanded, openSet.spilledEntries(), openSet.peakHot(),
+                            true, elapsedMs
+                    );
+                }
+
+                nodesExpanded++;
+
+                int cx = current % width;
+                int cy = current / width;
+                for (int i = 0; i < 4; i++) {
+                    int nx = cx + DX[i];
+                    int ny = cy + DY[i];
+                    if (!map.isValid(nx, ny)) {
+                        continue;
+                    }
+                    CellType type = map.getCellType(nx, ny);
+                    if (!type.isTraversable()) {
+                        continue;
+                    }
+
+                    int neighbor = ny * width + nx;
+                    double tentativeG = currentG + type.getCost();
+                    if (tentativeG < cells.getG(neighbor)) {
+                        cells.setG(neighbor, tentativeG, current);
+                        openSet.push(neighbor, tentativeG, heuristic.compute(nx, ny, goalX, goalY, map));
+                    }
+                }
+            }
+
+            long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+            return SolverResult.failure(nodesExpanded, openSet.spilledEntries(), openSet.peakHot(), elapsedMs);
+
+        } catch (IOException e) {
+            System.err.println("⚠️ [ExternalMemoryAStar] Spill files unavailable: " + e.getMessage());
+            long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+            return SolverResult.failure(nodesExpanded, 0, 0, elapsedMs);
+        }
+    }
+
+    /**
+     * Rebuilds the Node path from the parents stored in the mapped table.
+     */
+    private List<Node> buildPath(MappedCellTable cells, int goalCell, GridMap map) {
+        Node end = null;
+        Node child = null;
+        for (int cell = goalCell; cell != -1; cell = cells.getParent(cell)) {
+            Node node = new Node(map.indexToX(cell), map.indexToY(cell));
+            node.g = cells.getG(cell);
+            if (child == null) {
+                end = node;
+            } else {
+                child.parent = node;
+            }
+            child = node;
+        }
+        return reconstructPath(end);
+    }
+}
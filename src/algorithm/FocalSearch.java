@@ -0,0 +1,184 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded-suboptimal focal search in the style of Explicit Estimation Search (Thayer &amp; Ruml).
+ *
+ * Two heuristics play separate roles. An admissible bound heuristic (SCALED_MANHATTAN by default)
+ * keys the Open Set by f = g + h, whose minimum fMin is a lower bound on the optimal cost. A guide
+ * heuristic (typically inadmissible or learned) keys a second heap over the same cells by
+ * g + guide. The guide's best cell is expanded when both its guided and its admissible estimates
+ * are within w * fMin (the focal condition); otherwise the search takes an A* step on the cell
+ * with the lowest f, which raises fMin. Since the goal is only taken within w * fMin, the path
+ * costs at most w times the optimum however wrong the guide is; a bad guide only costs expansions.
+ *
+ * A plain focal list ordered by the guide (A*epsilon) follows an overestimating guide deep into
+ * expensive terrain and then re-expands much of it; testing the guided estimate as well keeps
+ * such a guide from doing worse than A* by much.
+ * The goal costs nothing to enter, so Manhattan-style estimates overshoot by up to one step next
+ * to it; that slack is taken off fMin before scaling.
+ */
+public class FocalSearch extends PathFinder {
+
+    public static final double DEFAULT_SUBOPTIMALITY = 1.5;
+
+    private final double suboptimality;
+    private final Heuristic boundHeuristic;
+
+    public FocalSearch() {
+        this(DEFAULT_SUBOPTIMALITY);
+    }
+
+    public FocalSearch(double suboptimality) {
+        this(suboptimality, HeuristicType.SCALED_MANHATTAN);
+    }
+
+    /**
+     * @param suboptimality Cost factor w the path may exceed the optimum by (at least 1).
+     * @param boundHeuristic Admissible heuristic that certifies the bound.
+     */
+    public FocalSearch(double suboptimality, Heuristic boundHeuristic) {
+        if (suboptimality < 1) {
+            throw new IllegalArgumentException("Suboptimality must be at least 1, got " + suboptimality);
+        }
+        this.suboptimality = suboptimality;
+        this.boundHeuristic = boundHeuristic;
+    }
+
+    /**
+     * @param guide Heuristic that steers the search (need not be admissible).
+     */
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic guide) {
+        return solve(map, guide).path;
+    }
+
+    /**
+     * Reuses the calling thread's SearchContext.
+     * @param guide Heuristic that steers the search (need not be admissible).
+     */
+    public SolverResult solve(GridMap map, Heuristic guide) {
+        return solve(map, guide, SearchContext.forCurrentThread());
+    }
+
+    public SolverResult solve(GridMap map, Heuristic guide, SearchContext context) {
+        long startTime = System.nanoTime();
+
+        int width = map.getWidth();
+        int cellCount = map.getCellCount();
+        context.reset(cellCount);
+        IndexedHeap open = (IndexedHeap) context.openList(OpenListType.INDEXED_HEAP);
+        IndexedHeap guided = context.extraHeap(0);  // Same cells, keyed by g + guide
+
+        int goalX = map.getGoalX();
+        int goalY = map.getGoalY();
+        int startCell = map.toIndex(map.getStartX(), map.getStartY());
+        int goalCell = map.toIndex(goalX, goalY);
+
+        // Both estimates are computed once per cell: learned guides are expensive
+        double[] boundScores = new double[cellCount];
+        double[] guideScores = new double[cellCount];
+        Arrays.fill(boundScores, Double.NaN);
+        Arrays.fill(guideScores, Double.NaN);
+
+        // Largest estimate next to the goal: how far the bound heuristic may overshoot
+        double goalSlack = 0;
+        for (int i = 0; i < 4; i++) {
+            int nx = goalX + DX[i];
+            int ny = goalY + DY[i];
+            if (map.isValid(nx, ny)) {
+                goalSlack = Math.max(goalSlack, estimate(boundScores, boundHeuristic, ny * width + nx, width, goalX, goalY, map));
+            }
+        }
+
+        int nodesExpanded = 0;
+        int maxMemory = 0;
+        int visited = 1;
+
+        context.setG(startCell, 0, -1);
+        double startH = estimate(boundScores, boundHeuristic, startCell, width, goalX, goalY, map);
+        open.push(startCell, startH, startH);
+        guided.push(startCell, estimate(guideScores, guide, startCell, width, goalX, goalY, map), startH);
+
+        while (!open.isEmpty()) {
+            maxMemory = Math.max(maxMemory, open.size() + visited);
+
+            // Follow the guide while its best cell is within the bound, else raise fMin
+            double threshold = suboptimality * (open.peekF() - goalSlack);
+            int best = guided.peek();
+            int current;
+            if (guided.peekF() <= threshold && context.getG(best) + boundScores[best] <= threshold) {
+                current = guided.pop();
+                open.remove(current);
+            } else {
+                current = open.pop();
+                guided.remove(current);
+            }
+
+            if (current == goalCell) {
+                List<Node> path = reconstructPath(current, context.parents(), context.gScores(), map);
+                long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+                return new SolverResult(path, context.getG(current), nodesExpanded, 0, maxMemory, true, elapsedMs);
+            }
+
+            nodesExpanded++;
+            int cx = current % width;
+            int cy = current / width;
+            double currentG = context.getG(current);
+
+            for (int i = 0; i < 4; i++) {
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
+                if (!map.isValid(nx, ny)) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+                int neighbor = ny * width + nx;
+                double tentativeG = currentG + type.getCost();
+                if (tentativeG >= context.getG(neighbor)) {
+                    continue;
+                }
+                if (!context.isVisited(neighbor)) {
+                    visited++;
+                }
+                context.setG(neighbor, tentativeG, current);
+
+                // Improved cells are (re)queued even if expanded before, so the bound survives
+                // a guide that expands cells out of f order
+                double h = estimate(boundScores, boundHeuristic, neighbor, width, goalX, goalY, map);
+                double f = tentativeG + h;
+                open.push(neighbor, f, h);
+                guided.push(neighbor, tentativeG + estimate(guideScores, guide, neighbor, width, goalX, goalY, map), f);
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        return SolverResult.failure(nodesExpanded, 0, maxMemory, elapsedMs);
+    }
+
+    public double getSuboptimality() {
+        return suboptimality;
+    }
+
+    /**
+     * @return The cell's estimate from the given heuristic, computed on first use.
+     */
+    private static double estimate(double[] scores, Heuristic heuristic, int cell, int width,
+                                   int goalX, int goalY, GridMap map) {
+        double value = scores[cell];
+        if (Double.isNaN(value)) {
+            value = heuristic.compute(cell % width, cell / width, goalX, goalY, map);
+            scores[cell] = value;
+        }
+        return value;
+    }
+}
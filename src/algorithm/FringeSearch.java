@@ -0,0 +1,178 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fringe Search (Björnsson, Enzenberger, Holte &amp; Schaeffer): IDA*'s threshold passes over a
+ * linked list instead of a recursion, with a g-cache so no cell is expanded twice per pass.
+ *
+ * Each pass walks the fringe from the head. Cells over the threshold stay where they are for the
+ * next pass; the rest are expanded, and their children are inserted right after them so they are
+ * visited in the same pass, depth-first. There is no priority queue and nothing is sorted, so a
+ * pass costs O(1) per cell; the price is that cells over the threshold are visited again on
+ * every pass. Memory is the g-cache and the fringe links (primitive arrays), without a heap.
+ *
+ * As in {@link IDAStar}, the pass that first reaches the goal is finished before returning, since
+ * Manhattan-style estimates may overshoot by the free step into the goal.
+ */
+public class FringeSearch extends PathFinder {
+
+    // Deadline polled once per this many expansions
+    private static final int DEADLINE_CHECK_INTERVAL = 4096;
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        // Default timeout of 60 seconds if not specified
+        return solve(map, heuristic, 60000).path;
+    }
+
+    /**
+     * Reuses the calling thread's SearchContext for the g-cache.
+     * @param timeoutMs Maximum execution time in milliseconds.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs) {
+        return solve(map, heuristic, timeoutMs, SearchContext.forCurrentThread());
+    }
+
+    public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs, SearchContext context) {
+        long startTime = System.nanoTime();
+        long timeoutNs = timeoutMs * 1_000_000L;
+
+        int width = map.getWidth();
+        int cellCount = map.getCellCount();
+        context.reset(cellCount);
+
+        int goalX = map.getGoalX();
+        int goalY = map.getGoalY();
+        int startCell = map.toIndex(map.getStartX(), map.getStartY());
+        int goalCell = map.toIndex(goalX, goalY);
+
+        // Fringe as a doubly linked list over cell indices (-1 ends it)
+        int[] next = new int[cellCount];
+        int[] prev = new int[cellCount];
+        boolean[] inFringe = new boolean[cellCount];
+        double[] hScores = new double[cellCount];
+        Arrays.fill(hScores, Double.NaN);
+
+        int head = startCell;
+        next[startCell] = -1;
+        prev[startCell] = -1;
+        inFringe[startCell] = true;
+        context.setG(startCell, 0, -1);
+
+        int nodesExpanded = 0;
+        int visited = 1;
+        double bestCost = Double.POSITIVE_INFINITY;
+        double threshold = estimate(hScores, heuristic, startCell, width, goalX, goalY, map);
+
+        while (head >= 0) {
+            double nextThreshold = Double.POSITIVE_INFINITY;
+            int current = head;
+            while (current >= 0) {
+                double g = context.getG(current);
+                double f = g + estimate(hScores, heuristic, current, width, goalX, goalY, map);
+
+                if (f > threshold && g < bestCost) {
+                    nextThreshold = Math.min(nextThreshold, f);
+                    current = next[current];
+                    continue; // Stays for the next pass
+                }
+
+                if (current == goalCell && g < bestCost) {
+                    bestCost = g; // Finish the pass: a cheaper path may still be inside the threshold
+                } else if (g < bestCost) {
+                    nodesExpanded++;
+                    int cx = current % width;
+                    int cy = current / width;
+                    // Reverse order, so children end up after the current cell in DX order
+                    for (int i = 3; i >= 0; i--) {
+                        int nx = cx + DX[i];
+                        int ny = cy + DY[i];
+                        if (!map.isValid(nx, ny)) {
+                            continue;
+                        }
+                        CellType type = map.getCellType(nx, ny);
+                        if (!type.isTraversable()) {
+                            continue;
+                        }
+                        int neighbor = ny * width + nx;
+                        double tentativeG = g + type.getCost();
+                        if (tentativeG >= context.getG(neighbor) || tentativeG >= bestCost) {
+                            continue;
+                        }
+                        if (!context.isVisited(neighbor)) {
+                            visited++;
+                        }
+                        context.setG(neighbor, tentativeG, current);
+
+                        if (inFringe[neighbor]) {
+                            // Unlink from its old position (it may be waiting earlier in the fringe)
+                            if (prev[neighbor] >= 0) {
+                                next[prev[neighbor]] = next[neighbor];
+                            } else {
+                                head = next[neighbor];
+                            }
+                            if (next[neighbor] >= 0) {
+                                prev[next[neighbor]] = prev[neighbor];
+                            }
+                        }
+                        prev[neighbor] = current;
+                        next[neighbor] = next[current];
+                        if (next[current] >= 0) {
+                            prev[next[current]] = neighbor;
+                        }
+                        next[current] = neighbor;
+                        inFringe[neighbor] = true;
+                    }
+
+                    // --- TIMEOUT CHECK ---
+                    if (nodesExpanded % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - startTime > timeoutNs) {
+                        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+                        return SolverResult.failure(nodesExpanded, 0, visited, elapsedMs);
+                    }
+                }
+
+                // Expanded (or dominated by the solution): leaves the fringe
+                int following = next[current];
+                if (prev[current] >= 0) {
+                    next[prev[current]] = following;
+                } else {
+                    head = following;
+                }
+                if (following >= 0) {
+                    prev[following] = prev[current];
+                }
+                inFringe[current] = false;
+                current = following;
+            }
+
+            if (bestCost < Double.POSITIVE_INFINITY) {
+                List<Node> path = reconstructPath(goalCell, context.parents(), context.gScores(), map);
+                long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+                return new SolverResult(path, bestCost, nodesExpanded, 0, visited, true, elapsedMs);
+            }
+            threshold = nextThreshold;
+        }
+
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        return SolverResult.failure(nodesExpanded, 0, visited, elapsedMs);
+    }
+
+    /**
+     * @return The cell's estimate, computed on first use.
+     */
+    private static double estimate(double[] scores, Heuristic heuristic, int cell, int width,
+                                   int goalX, int goalY, GridMap map) {
+        double value = scores[cell];
+        if (Double.isNaN(value)) {
+            value = heuristic.compute(cell % width, cell / width, goalX, goalY, map);
+            scores[cell] = value;
+        }
+        return value;
+    }
+}
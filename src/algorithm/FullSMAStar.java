@@ -0,0 +1,395 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Complete SMA* (Russell, 1992) adapted to the grid graph.
+ *
+ * All in-memory nodes form one search tree (at most one node per cell). When memory is full the
+ * shallowest highest-F leaf is forgotten and its F-cost is backed up into its parent, which goes
+ * back onto the Open Set keyed by the best forgotten successor. Re-expanding that parent
+ * regenerates only the forgotten successors, and each regenerated node keeps the remembered F-cost
+ * so its subtree is not explored again blindly. Regenerations are reported in the SolverResult.
+ *
+ * Unlike {@link SMAStar}, the budget counts every node in the tree (not just the Open Set), and a
+ * node whose successors could not fit in memory (depth limit) is dropped as a dead end.
+ */
+public class FullSMAStar extends PathFinder {
+
+    private static final int ALL_DIRECTIONS = 0b1111;
+
+    private final int maxMemory;
+
+    public FullSMAStar(int maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        // Default timeout of 60 seconds if not specified
+        return solve(map, heuristic, 60000).path;
+    }
+
+    /**
+     * Solves the pathfinding problem with a strict memory limit (tree nodes) and time limit.
+     * @param timeoutMs Maximum execution time in milliseconds.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs) {
+        return solve(map, heuristic, timeoutMs, SearchContext.forCurrentThread());
+    }
+
+    /**
+     * Same as {@link #solve(GridMap, Heuristic, long)}, reusing the frontier held by the context.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs, SearchContext context) {
+        long startTime = System.nanoTime();
+        long timeoutNs = timeoutMs * 1_000_000L;
+
+        SearchTree tree = new SearchTree(map, heuristic, context.smaFrontier(map.getWidth(), maxMemory + 4));
+        int goalCell = map.toIndex(map.getGoalX(), map.getGoalY());
+
+        SMANode root = tree.createRoot();
+        if (root == null) {
+            long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+            return SolverResult.failure(0, 0, 0, 0, elapsedMs);
+        }
+
+        while (!tree.frontier.isEmpty()) {
+            // --- TIMEOUT CHECK ---
+            long elapsedNs = System.nanoTime() - startTime;
+            if (elapsedNs > timeoutNs) {
+                return new SolverResult(
+                        null, Double.POSITIVE_INFINITY,
+                        tree.nodesExpanded, tree.prunedNodes, tree.regeneratedNodes, tree.peakUsed,
+                        false, elapsedNs / 1_000_000L
+                );
+            }
+
+            SMANode best = (SMANode) tree.frontier.pollMin();
+
+            if (best.cell == goalCell) {
+                List<Node> path = reconstructPath(best);
+                long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+                return new SolverResult(
+                        path, best.g, tree.nodesExpanded, tree.prunedNodes, tree.regeneratedNodes,
+                        tree.peakUsed, true, elapsedMs
+                );
+            }
+
+            if (best.depth + 1 >= maxMemory) {
+                // A child would not fit next to its ancestors: dead end for this budget
+                best.pending = 0;
+                tree.discardBarren(best, null);
+                continue;
+            }
+
+            tree.expand(best);
+        }
+
+        // Every branch was either a dead end or cut off by the depth limit
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        return SolverResult.failure(tree.nodesExpanded, tree.prunedNodes, tree.regeneratedNodes, tree.peakUsed, elapsedMs);
+    }
+
+    /**
+     * Search tree node. {@code f} is the Open Set key: the node's own F-cost until it is
+     * expanded, afterwards the best backed-up F-cost among its forgotten successors.
+     */
+    private static final class SMANode extends Node {
+        final int cell;
+        final int depth;
+        final int direction;      // Move from the parent (index into DX/DY), -1 for the root
+        final double ownF;        // g + h, raised by pathmax and by any remembered F-cost
+
+        final SMANode[] children = new SMANode[4];
+        final double[] forgottenF = new double[4];
+        int childCount = 0;
+        int pending = ALL_DIRECTIONS;  // Directions still to (re)generate
+        int forgotten = 0;             // Subset of pending whose F-cost was backed up
+        int slot = -1;                 // Index in the memory table
+
+        SMANode(int x, int y, int cell, int depth, int direction, double g, double h, double f) {
+            super(x, y);
+            this.cell = cell;
+            this.depth = depth;
+            this.direction = direction;
+            this.g = g;
+            this.h = h;
+            this.ownF = f;
+            this.f = f;
+        }
+
+        /**
+         * F-cost first, then the deeper node (classic SMA* order), then lower H-cost.
+         * The worst entry is therefore the shallowest highest-F node.
+         */
+        @Override
+        public int compareTo(Node other) {
+            int comparison = Double.compare(this.f, other.f);
+            if (comparison != 0) {
+                return comparison;
+            }
+            int otherDepth = ((SMANode) other).depth;
+            if (depth != otherDepth) {
+                return depth > otherDepth ? -1 : 1;
+            }
+            return Double.compare(this.h, other.h);
+        }
+    }
+
+    /**
+     * Per-run state: the tree's memory table, the cell index and the counters.
+     * The Open Set holds exactly the nodes with pending successors.
+     */
+    private final class SearchTree {
+        final GridMap map;
+        final Heuristic heuristic;
+        final SMAFrontier frontier;
+        final int goalX;
+        final int goalY;
+
+        // Memory table: every in-memory node has a slot; cells map to slots
+        final SMANode[] table = new SMANode[maxMemory];
+        final int[] freeSlots = new int[maxMemory];
+        int freeCount;
+        final CellIndexMap cellSlots = new CellIndexMap(maxMemory);
+
+        // Non-leaf entries set aside while looking for a prunable leaf
+        final List<SMANode> skipped = new ArrayList<>();
+
+        int used = 0;
+        int peakUsed = 0;
+        int nodesExpanded = 0;
+        int prunedNodes = 0;
+        int regeneratedNodes = 0;
+
+        SearchTree(GridMap map, Heuristic heuristic, SMAFrontier frontier) {
+            this.map = map;
+            this.heuristic = heuristic;
+            this.frontier = frontier;
+            this.goalX = map.getGoalX();
+            this.goalY = map.getGoalY();
+            for (int i = 0; i < maxMemory; i++) {
+                freeSlots[i] = maxMemory - 1 - i;
+            }
+            this.freeCount = maxMemory;
+        }
+
+        SMANode createRoot() {
+            if (maxMemory < 1) {
+                return null;
+            }
+            int x = map.getStartX();
+            int y = map.getStartY();
+            double h = heuristic.compute(x, y, goalX, goalY, map);
+            SMANode root = new SMANode(x, y, map.toIndex(x, y), 0, -1, 0, h, h);
+            store(root);
+            frontier.add(root);
+            return root;
+        }
+
+        /**
+         * Generates every pending successor of the node (all of them on the first expansion,
+         * only the forgotten ones afterwards).
+         */
+        void expand(SMANode node) {
+            nodesExpanded++;
+
+            int todo = node.pending;
+            int remembered = node.forgotten;
+            node.pending = 0;
+            node.forgotten = 0;
+
+            for (int d = 0; d < 4; d++) {
+                int bit = 1 << d;
+                if ((todo & bit) == 0) {
+                    continue;
+                }
+
+                int nx = node.x + DX[d];
+                int ny = node.y + DY[d];
+                if (!map.isValid(nx, ny)) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+
+                int cell = map.toIndex(nx, ny);
+                double g = node.g + type.getCost();
+
+                // One node per cell: a path that is not better is dropped for good,
+                // a better one replaces the old node together with its subtree
+                int slot = cellSlots.get(cell);
+                if (slot >= 0) {
+                    SMANode other = table[slot];
+                    if (other.g <= g) {
+                        continue;
+                    }
+                    discardSubtree(other, node);
+                }
+
+                double h = heuristic.compute(nx, ny, goalX, goalY, map);
+                // Pathmax, and a regenerated node starts from what was learnt before it was forgotten
+                double f = Math.max(g + h, node.ownF);
+                boolean regenerated = (remembered & bit) != 0;
+                if (regenerated) {
+                    f = Math.max(f, node.forgottenF[d]);
+                }
+
+                if (!makeRoom(node)) {
+                    // Only the current branch is in memory: keep the successor forgotten
+                    node.pending |= bit;
+                    node.forgotten |= bit;
+                    node.forgottenF[d] = f;
+                    continue;
+                }
+
+                SMANode child = new SMANode(nx, ny, cell, node.depth + 1, d, g, h, f);
+                child.parent = node;
+                child.pending &= ~(1 << (d ^ 1)); // Stepping back to the parent is never better
+                node.children[d] = child;
+                node.childCount++;
+                store(child);
+                frontier.add(child);
+
+                if (regenerated) {
+                    regeneratedNodes++;
+                }
+            }
+
+            if (node.childCount == 0 && node.pending == 0) {
+                discardBarren(node, null);
+            } else if (node.pending != 0) {
+                requeue(node);
+            }
+        }
+
+        /**
+         * Forgets leaves until one more node fits.
+         * @param expanding The node being expanded (never forgotten).
+         * @return false if no leaf can be forgotten.
+         */
+        boolean makeRoom(SMANode expanding) {
+            while (used >= maxMemory) {
+                SMANode victim = null;
+                while (!frontier.isEmpty()) {
+                    SMANode candidate = (SMANode) frontier.pollMax();
+                    if (candidate.childCount == 0 && candidate != expanding && candidate.parent != null) {
+                        victim = candidate;
+                        break;
+                    }
+                    skipped.add(candidate);
+                }
+                for (SMANode node : skipped) {
+                    frontier.add(node);
+                }
+                skipped.clear();
+
+                if (victim == null) {
+                    return false;
+                }
+                forget(victim);
+            }
+            return true;
+        }
+
+        /**
+         * Drops a leaf and backs its F-cost up into the parent, which becomes expandable again.
+         */
+        void forget(SMANode leaf) {
+            SMANode parent = (SMANode) leaf.parent;
+            int d = leaf.direction;
+            release(leaf);
+            prunedNodes++;
+
+            parent.children[d] = null;
+            parent.childCount--;
+            parent.pending |= 1 << d;
+            parent.forgotten |= 1 << d;
+            parent.forgottenF[d] = leaf.f;
+            requeue(parent);
+        }
+
+        /**
+         * Removes a node superseded by a better path, with all its descendants.
+         * The parent loses that direction for good and is dropped too if nothing is left under it.
+         */
+        void discardSubtree(SMANode node, SMANode expanding) {
+            SMANode parent = (SMANode) node.parent;
+            deleteRecursively(node);
+            if (parent != null) {
+                parent.children[node.direction] = null;
+                parent.childCount--;
+                discardBarren(parent, expanding);
+            }
+        }
+
+        private void deleteRecursively(SMANode node) {
+            for (SMANode child : node.children) {
+                if (child != null) {
+                    deleteRecursively(child);
+                }
+            }
+            frontier.remove(node);
+            release(node);
+        }
+
+        /**
+         * Deletes nodes with neither children nor pending successors, walking up the tree.
+         */
+        void discardBarren(SMANode node, SMANode expanding) {
+            while (node != null && node != expanding && node.childCount == 0 && node.pending == 0) {
+                SMANode parent = (SMANode) node.parent;
+                frontier.remove(node);
+                release(node);
+                if (parent != null) {
+                    parent.children[node.direction] = null;
+                    parent.childCount--;
+                }
+                node = parent;
+            }
+        }
+
+        /**
+         * Re-keys a node on the Open Set by its best pending successor.
+         */
+        void requeue(SMANode node) {
+            double key = Double.POSITIVE_INFINITY;
+            for (int d = 0; d < 4; d++) {
+                int bit = 1 << d;
+                if ((node.pending & bit) != 0) {
+                    key = Math.min(key, (node.forgotten & bit) != 0 ? node.forgottenF[d] : node.ownF);
+                }
+            }
+            node.f = key;
+            if (frontier.get(node) == node) {
+                frontier.update(node);
+            } else {
+                frontier.add(node);
+            }
+        }
+
+        private void store(SMANode node) {
+            node.slot = freeSlots[--freeCount];
+            table[node.slot] = node;
+            cellSlots.put(node.cell, node.slot);
+            used++;
+            peakUsed = Math.max(peakUsed, used);
+        }
+
+        private void release(SMANode node) {
+            table[node.slot] = null;
+            cellSlots.remove(node.cell);
+            freeSlots[freeCount++] = node.slot;
+            node.slot = -1;
+            used--;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-to-many solver: exact path costs from every cell to one goal.
+ *
+ * A single reverse Dijkstra from the goal ({@link GridDijkstra}) fills a distance field over the
+ * whole map. After that, the cost from any start is one array read, and its path is found by
+ * stepping to a neighbour whose distance plus entry cost equals the current distance, so a batch
+ * of queries that share a goal costs one full-map search instead of one A* each.
+ *
+ * Costs follow the solvers' convention (every entered cell is charged, the start is not).
+ * The field describes the map as it was built: rebuild it after terrain edits.
+ */
+public final class GoalDistanceField {
+
+    private final GridMap map;
+    private final int goalX;
+    private final int goalY;
+    private final float[] distances;   // Cost to the goal per cell index, +Infinity if unreachable
+    private final long buildTimeNs;
+
+    private GoalDistanceField(GridMap map, int goalX, int goalY) {
+        long startTime = System.nanoTime();
+        this.map = map;
+        this.goalX = goalX;
+        this.goalY = goalY;
+        this.distances = GridDijkstra.distances(map, map.toIndex(goalX, goalY), true);
+        this.buildTimeNs = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Builds the field towards the map's goal.
+     */
+    public static GoalDistanceField build(GridMap map) {
+        return build(map, map.getGoalX(), map.getGoalY());
+    }
+
+    public static GoalDistanceField build(GridMap map, int goalX, int goalY) {
+        if (!map.isValid(goalX, goalY)) {
+            throw new IllegalArgumentException("Goal (" + goalX + ", " + goalY + ") is outside the map");
+        }
+        return new GoalDistanceField(map, goalX, goalY);
+    }
+
+    /**
+     * @return Exact cost from (x, y) to the goal, +Infinity if unreachable (or a wall).
+     */
+    public double costFrom(int x, int y) {
+        return distances[map.toIndex(x, y)];
+    }
+
+    /**
+     * Batch form of {@link #costFrom}.
+     * @param startCells Flat cell indices ({@link GridMap#toIndex}).
+     * @return One cost per start, in the same order.
+     */
+    public double[] costsFrom(int[] startCells) {
+        double[] costs = new double[startCells.length];
+        for (int i = 0; i < startCells.length; i++) {
+            costs[i] = distances[startCells[i]];
+        }
+        return costs;
+    }
+
+    /**
+     * Walks down the field from (x, y) to the goal.
+     * @return The ordered path from (x, y) to the goal, or null if the goal is unreachable.
+     */
+    public List<Node> pathFrom(int x, int y) {
+        int width = map.getWidth();
+        int cell = map.toIndex(x, y);
+        int goalCell = map.toIndex(goalX, goalY);
+        if (distances[cell] == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        List<Node> path = new ArrayList<>();
+        Node node = new Node(x, y);
+        node.g = 0;
+        node.isInPath = true;
+        path.add(node);
+        while (cell != goalCell) {
+            int cx = cell % width;
+            int cy = cell / width;
+            int next = -1;
+            for (int i = 0; i < 4 && next < 0; i++) {
+                int nx = cx + PathFinder.DX[i];
+                int ny = cy + PathFinder.DY[i];
+                if (!map.isValid(nx, ny)) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                int neighbor = ny * width + nx;
+                // Half-unit sums are exact in a float, so the step on a shortest path matches exactly
+                if (type.isTraversable() && distances[neighbor] + (float) type.getCost() == distances[cell]) {
+                    next = neighbor;
+                }
+            }
+            if (next < 0) {
+                // Only possible if the map was edited after the field was built
+                System.err.println("⚠️  Distance field is stale at (" + cx + ", " + cy + "): rebuild it after edits.");
+                return null;
+            }
+            Node step = new Node(next % width, next / width);
+            step.g = node.g + map.getCost(step.x, step.y);
+            step.parent = node;
+            step.isInPath = true;
+            path.add(step);
+            node = step;
+            cell = next;
+        }
+        return path;
+    }
+
+    /**
+     * Single query in the solvers' result format (no search: NodesExpanded is 0).
+     */
+    public SolverResult solveFrom(int x, int y) {
+        long startTime = System.nanoTime();
+        List<Node> path = pathFrom(x, y);
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        if (path == null) {
+            return SolverResult.failure(0, 0, 0, elapsedMs);
+        }
+        return new SolverResult(path, costFrom(x, y), 0, 0, path.size(), true, elapsedMs);
+    }
+
+    public int getGoalX() {
+        return goalX;
+    }
+
+    public int getGoalY() {
+        return goalY;
+    }
+
+    /**
+     * @return Wall-clock time spent on the reverse Dijkstra, in nanoseconds.
+     */
+    public long getBuildTimeNs() {
+        return buildTimeNs;
+    }
+
+    /**
+     * @return Bytes held by the distance table.
+     */
+    public long footprintBytes() {
+        return 4L * distances.length;
+    }
+}
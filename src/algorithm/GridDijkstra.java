@@ -0,0 +1,73 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+
+import java.util.Arrays;
+
+/**
+ * Whole-map Dijkstra used by the preprocessing-based heuristics.
+ * Every finite cell cost is a multiple of {@link CellType#COST_QUANTUM}, so the search runs on a
+ * {@link BucketQueue}. Results are {@code float[]} tables indexed by cell; half-unit costs are
+ * exact in a float up to 2^23 half-units (over four million), far beyond any path on these maps.
+ */
+public final class GridDijkstra {
+
+    private GridDijkstra() {
+    }
+
+    /**
+     * @param reverse false: cost from the source to every cell;
+     *                true: cost from every cell to the source (the cell being left is charged).
+     * @return Cost per cell index, +Infinity where unreachable.
+     */
+    public static float[] distances(GridMap map, int sourceCell, boolean reverse) {
+        float[] out = new float[map.getCellCount()];
+        distances(map, sourceCell, reverse, out, new double[out.length], new BucketQueue(out.length, CellType.COST_QUANTUM));
+        return out;
+    }
+
+    /**
+     * Allocation-free form for repeated runs: {@code work} and {@code queue} are scratch space
+     * sized for the map, {@code out} receives the costs.
+     */
+    static void distances(GridMap map, int sourceCell, boolean reverse,
+                          float[] out, double[] work, BucketQueue queue) {
+        int width = map.getWidth();
+        Arrays.fill(work, Double.POSITIVE_INFINITY);
+        queue.clear();
+
+        work[sourceCell] = 0;
+        queue.push(sourceCell, 0, 0);
+
+        while (!queue.isEmpty()) {
+            int current = queue.pop();
+            int cx = current % width;
+            int cy = current / width;
+            double currentDist = work[current];
+            double leaveCost = reverse ? map.getCost(cx, cy) : 0;
+
+            for (int i = 0; i < 4; i++) {
+                int nx = cx + PathFinder.DX[i];
+                int ny = cy + PathFinder.DY[i];
+                if (!map.isValid(nx, ny)) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+                int neighbor = ny * width + nx;
+                double d = currentDist + (reverse ? leaveCost : type.getCost());
+                if (d < work[neighbor]) {
+                    work[neighbor] = d;
+                    queue.push(neighbor, d, 0);
+                }
+            }
+        }
+
+        for (int cell = 0; cell < out.length; cell++) {
+            out[cell] = (float) work[cell];
+        }
+    }
+}
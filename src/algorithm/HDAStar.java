@@ -0,0 +1,374 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hash-Distributed A* (Kishimoto, Fukunaga &amp; Botea): one query on several threads.
+ *
+ * Every cell is owned by one worker, chosen by hashing its block of BLOCK_SIZE x BLOCK_SIZE cells
+ * (blocks keep most neighbours on the same worker). A worker keeps its own Open Set and the
+ * G-scores of its own cells; a successor owned by another worker is sent to it in a batch through
+ * that worker's lock-free mailbox. Workers never wait on each other, so cells are expanded out of
+ * global F-cost order and an improved cell is simply expanded again.
+ *
+ * Termination: a shared counter holds the number of busy workers plus the batches in flight. A
+ * worker goes idle once its mailbox and outboxes are empty and its Open Set holds nothing that
+ * could beat the incumbent; it becomes busy again (before the batch is discounted) when mail
+ * arrives. The counter therefore only reaches zero when no worker can produce more work.
+ *
+ * Optimality: at that point every queued cell has f >= incumbent (plus the goal slack below) and
+ * nothing is in flight. Any cheaper path would have a first not-yet-optimal cell, whose optimal
+ * predecessor was expanded with its optimal G-score and so sent it there with f <= that path's
+ * cost (admissible heuristic); it would still be queued below the incumbent, a contradiction.
+ * The goal costs nothing to enter, so Manhattan-style estimates overshoot by up to one step next
+ * to it; that slack is added to the pruning threshold.
+ *
+ * The heuristic is called from all workers and must be safe to share between threads.
+ */
+public class HDAStar extends PathFinder {
+
+    public static final int BLOCK_SIZE = 4;       // Side of the hashed blocks, in cells
+    private static final int BATCH_SIZE = 64;     // Successors per mailbox message
+    private static final int FLUSH_INTERVAL = 32; // Expansions between outbox flushes
+
+    private final int threadCount;
+
+    public HDAStar() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public HDAStar(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Need at least one thread, got " + threadCount);
+        }
+        this.threadCount = threadCount;
+    }
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic).path;
+    }
+
+    public SolverResult solve(GridMap map, Heuristic heuristic) {
+        long startTime = System.nanoTime();
+
+        Search search = new Search(map, heuristic, threadCount);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(search.workers[i], "HDAStar-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            search.done = true;
+            Thread.currentThread().interrupt();
+        }
+
+        int nodesExpanded = 0;
+        int memoryUsed = 0;
+        for (Worker worker : search.workers) {
+            nodesExpanded += worker.nodesExpanded;
+            memoryUsed += worker.maxMemory;
+        }
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+
+        if (search.failure != null) {
+            System.err.println("⚠️  HDA* worker failed: " + search.failure);
+            return SolverResult.failure(nodesExpanded, 0, memoryUsed, elapsedMs);
+        }
+        if (search.incumbent == Double.POSITIVE_INFINITY || Thread.currentThread().isInterrupted()) {
+            return SolverResult.failure(nodesExpanded, 0, memoryUsed, elapsedMs);
+        }
+        // Joined threads: their writes to the shared arrays are visible here
+        List<Node> path = reconstructPath(search.goalCell, search.parents, search.gScores, map);
+        return new SolverResult(path, search.incumbent, nodesExpanded, 0, memoryUsed, true, elapsedMs);
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * State shared by the workers of one query.
+     */
+    private static final class Search {
+        final GridMap map;
+        final Heuristic heuristic;
+        final int width;
+        final int goalX;
+        final int goalY;
+        final int goalCell;
+        final double goalSlack;
+
+        // Per cell, written only by the owning worker
+        final double[] gScores;
+        final int[] parents;
+        final int[] owners;
+        final int[] localIndex;   // Slot of the cell in its owner's arrays
+
+        final Worker[] workers;
+        final AtomicLong work;    // Busy workers + batches in flight
+        volatile double incumbent = Double.POSITIVE_INFINITY; // Written by the goal's owner only
+        volatile boolean done = false;
+        volatile Throwable failure = null;
+
+        Search(GridMap map, Heuristic heuristic, int threadCount) {
+            this.map = map;
+            this.heuristic = heuristic;
+            this.width = map.getWidth();
+            this.goalX = map.getGoalX();
+            this.goalY = map.getGoalY();
+            this.goalCell = map.toIndex(goalX, goalY);
+
+            int cellCount = map.getCellCount();
+            this.gScores = new double[cellCount];
+            this.parents = new int[cellCount];
+            this.owners = new int[cellCount];
+            this.localIndex = new int[cellCount];
+            Arrays.fill(gScores, Double.POSITIVE_INFINITY);
+
+            // Ownership by block hash, and each cell's slot among its owner's cells
+            int blocksX = (width + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            int[] counts = new int[threadCount];
+            for (int cell = 0; cell < cellCount; cell++) {
+                int block = (cell / width / BLOCK_SIZE) * blocksX + (cell % width) / BLOCK_SIZE;
+                int owner = Math.floorMod(mix(block), threadCount);
+                owners[cell] = owner;
+                localIndex[cell] = counts[owner]++;
+            }
+            int[][] cellsOf = new int[threadCount][];
+            for (int i = 0; i < threadCount; i++) {
+                cellsOf[i] = new int[counts[i]];
+            }
+            for (int cell = 0; cell < cellCount; cell++) {
+                cellsOf[owners[cell]][localIndex[cell]] = cell;
+            }
+
+            double slack = 0;
+            for (int i = 0; i < 4; i++) {
+                int nx = goalX + DX[i];
+                int ny = goalY + DY[i];
+                if (map.isValid(nx, ny)) {
+                    slack = Math.max(slack, heuristic.compute(nx, ny, goalX, goalY, map));
+                }
+            }
+            this.goalSlack = slack;
+
+            this.workers = new Worker[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                workers[i] = new Worker(this, i, cellsOf[i]);
+            }
+            this.work = new AtomicLong(threadCount); // Everyone starts busy
+
+            int startCell = map.toIndex(map.getStartX(), map.getStartY());
+            gScores[startCell] = 0;
+            parents[startCell] = -1;
+            workers[owners[startCell]].queue(startCell);
+        }
+
+        /**
+         * Spreads neighbouring blocks over the workers (integer finalizer of MurmurHash3).
+         */
+        private static int mix(int block) {
+            int h = block * 0x9E3779B9;
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            return h;
+        }
+    }
+
+    /**
+     * A group of successors for one worker: (cell, G-score, parent) triples.
+     */
+    private static final class Batch {
+        final int[] cells = new int[BATCH_SIZE];
+        final int[] parents = new int[BATCH_SIZE];
+        final double[] gScores = new double[BATCH_SIZE];
+        int size = 0;
+    }
+
+    private static final class Worker implements Runnable {
+        private final Search search;
+        private final int id;
+        private final int[] cells;            // Global cell per local slot
+        private final double[] hScores;       // Per local slot, NaN until computed
+        private final IndexedHeap openSet;    // Local slots
+        private final Queue<Batch> mailbox = new ConcurrentLinkedQueue<>();
+
+        int nodesExpanded = 0;
+        int maxMemory = 0;
+        private int visited = 0;
+
+        Worker(Search search, int id, int[] cells) {
+            this.search = search;
+            this.id = id;
+            this.cells = cells;
+            this.hScores = new double[cells.length];
+            Arrays.fill(hScores, Double.NaN);
+            this.openSet = new IndexedHeap(Math.max(1, cells.length));
+        }
+
+        @Override
+        public void run() {
+            try {
+                work();
+            } catch (Throwable t) {
+                search.failure = t;
+                search.done = true;
+            }
+        }
+
+        private void work() {
+            Batch[] outboxes = new Batch[search.workers.length];
+            boolean busy = true;
+            int sinceFlush = 0;
+            while (!search.done) {
+                // 1. Mail: wake up first, then discount each batch once its cells are queued
+                Batch batch;
+                while ((batch = mailbox.poll()) != null) {
+                    if (!busy) {
+                        search.work.incrementAndGet();
+                        busy = true;
+                    }
+                    for (int i = 0; i < batch.size; i++) {
+                        relax(batch.cells[i], batch.gScores[i], batch.parents[i]);
+                    }
+                    search.work.decrementAndGet();
+                }
+
+                // 2. Nothing worth expanding: send what is buffered, then go idle
+                if (openSet.isEmpty() || openSet.peekF() >= search.incumbent + search.goalSlack) {
+                    if (busy) {
+                        flush(outboxes);
+                        sinceFlush = 0;
+                        busy = false;
+                        if (search.work.decrementAndGet() == 0) {
+                            search.done = true;
+                        }
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                    continue;
+                }
+
+                // 3. Expand the best local cell
+                maxMemory = Math.max(maxMemory, openSet.size() + visited);
+                int cell = cells[openSet.pop()];
+                double g = search.gScores[cell];
+                if (cell == search.goalCell) {
+                    if (g < search.incumbent) {
+                        search.incumbent = g;
+                    }
+                    continue;
+                }
+                nodesExpanded++;
+                expand(cell, g, outboxes);
+                if (++sinceFlush == FLUSH_INTERVAL) {
+                    flush(outboxes);
+                    sinceFlush = 0;
+                }
+            }
+        }
+
+        private void expand(int cell, double g, Batch[] outboxes) {
+            GridMap map = search.map;
+            int width = search.width;
+            int cx = cell % width;
+            int cy = cell / width;
+            for (int i = 0; i < 4; i++) {
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
+                if (!map.isValid(nx, ny)) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+                int neighbor = ny * width + nx;
+                double tentativeG = g + type.getCost();
+                int owner = search.owners[neighbor];
+                if (owner == id) {
+                    relax(neighbor, tentativeG, cell);
+                } else {
+                    Batch out = outboxes[owner];
+                    if (out == null) {
+                        out = new Batch();
+                        outboxes[owner] = out;
+                    }
+                    out.cells[out.size] = neighbor;
+                    out.gScores[out.size] = tentativeG;
+                    out.parents[out.size] = cell;
+                    if (++out.size == BATCH_SIZE) {
+                        send(owner, out);
+                        outboxes[owner] = null;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Records a cheaper path to one of this worker's cells and (re)queues it.
+         */
+        private void relax(int cell, double g, int parent) {
+            if (g >= search.gScores[cell]) {
+                return;
+            }
+            if (search.gScores[cell] == Double.POSITIVE_INFINITY) {
+                visited++;
+            }
+            search.gScores[cell] = g;
+            search.parents[cell] = parent;
+            int slot = search.localIndex[cell];
+            double h = hScores[slot];
+            if (Double.isNaN(h)) {
+                h = search.heuristic.compute(cell % search.width, cell / search.width,
+                        search.goalX, search.goalY, search.map);
+                hScores[slot] = h;
+            }
+            openSet.push(slot, g + h, h);
+        }
+
+        /**
+         * Queues the start cell before the workers run.
+         */
+        void queue(int cell) {
+            int slot = search.localIndex[cell];
+            double h = search.heuristic.compute(cell % search.width, cell / search.width,
+                    search.goalX, search.goalY, search.map);
+            hScores[slot] = h;
+            visited++;
+            openSet.push(slot, h, h);
+        }
+
+        private void flush(Batch[] outboxes) {
+            for (int owner = 0; owner < outboxes.length; owner++) {
+                if (outboxes[owner] != null) {
+                    send(owner, outboxes[owner]);
+                    outboxes[owner] = null;
+                }
+            }
+        }
+
+        /**
+         * Counts the batch as work before it becomes visible to the receiver.
+         */
+        private void send(int owner, Batch batch) {
+            search.work.incrementAndGet();
+            search.workers[owner].mailbox.add(batch);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package algorithm;
+
+import model.GridMap;
+import model.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical A* (HPA*) over a prebuilt {@link ClusterAbstraction}.
+ *
+ * A query links the start and the goal to the abstract nodes of their clusters (confined
+ * Dijkstra), runs A* on the abstract graph with the given Heuristic, then refines each abstract
+ * edge back to cells. Paths are near-optimal: they must cross cluster borders at entrances.
+ * The abstraction is built once per map and shared by every query and heuristic.
+ */
+public class HPAStar extends PathFinder {
+
+    public static final int DEFAULT_CLUSTER_SIZE = 10;
+
+    private final ClusterAbstraction abstraction;
+
+    public HPAStar(ClusterAbstraction abstraction) {
+        this.abstraction = abstraction;
+    }
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic).path;
+    }
+
+    /**
+     * Answers a query on the abstraction's map, reusing the calling thread's SearchContext
+     * for the abstract search.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic, SearchContext.forCurrentThread());
+    }
+
+    /**
+     * Answers a query using the given (reusable) search state for the abstract search.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, SearchContext context) {
+        if (map != abstraction.getMap()) {
+            throw new IllegalArgumentException("The cluster abstraction was built for another map");
+        }
+        long startTime = System.nanoTime();
+
+        int startX = map.getStartX();
+        int startY = map.getStartY();
+        int goalX = map.getGoalX();
+        int goalY = map.getGoalY();
+        int startCell = map.toIndex(startX, startY);
+        int goalCell = map.toIndex(goalX, goalY);
+
+        ClusterSearch local = new ClusterSearch(map, abstraction.getClusterSize());
+        int startCluster = abstraction.clusterOf(startCell);
+        int goalCluster = abstraction.clusterOf(goalCell);
+
+        // --- 1. Link start and goal to their clusters' abstract nodes ---
+        // Costs start -> node in the start cluster
+        local.run(startCell, abstraction.clusterX0(startCluster), abstraction.clusterY0(startCluster), false, -1);
+        int startFirst = abstraction.clusterNodesStart(startCluster);
+        double[] fromStart = new double[abstraction.clusterNodesEnd(startCluster) - startFirst];
+        for (int i = 0; i < fromStart.length; i++) {
+            fromStart[i] = local.dist(abstraction.nodeCell(abstraction.clusterNode(startFirst + i)));
+        }
+        double direct = startCluster == goalCluster ? local.dist(goalCell) : Double.POSITIVE_INFINITY;
+
+        // Costs node -> goal in the goal cluster
+        local.run(goalCell, abstraction.clusterX0(goalCluster), abstraction.clusterY0(goalCluster), true, -1);
+        int goalFirst = abstraction.clusterNodesStart(goalCluster);
+        double[] toGoal = new double[abstraction.clusterNodesEnd(goalCluster) - goalFirst];
+        for (int i = 0; i < toGoal.length; i++) {
+            toGoal[i] = local.dist(abstraction.nodeCell(abstraction.clusterNode(goalFirst + i)));
+        }
+
+        // --- 2. A* on the abstract graph (plus a virtual start and goal node) ---
+        int nodeCount = abstraction.getNodeCount();
+        int startNode = nodeCount;
+        int goalNode = nodeCount + 1;
+        context.reset(nodeCount + 2);
+        OpenList openSet = context.openList(OpenListType.INDEXED_HEAP);
+
+        int nodesExpanded = 0;
+        int maxMemory = 0;
+        int visited = 1;
+
+        context.setG(startNode, 0, -1);
+        double startH = heuristic.compute(startX, startY, goalX, goalY, map);
+        openSet.push(startNode, startH, startH);
+
+        boolean found = false;
+        while (!openSet.isEmpty()) {
+            maxMemory = Math.max(maxMemory, openSet.size() + visited);
+            int current = openSet.pop();
+            if (current == goalNode) {
+                found = true;
+                break;
+            }
+            nodesExpanded++;
+            double currentG = context.getG(current);
+
+            if (current == startNode) {
+                for (int i = 0; i < fromStart.length; i++) {
+                    visited += relax(context, openSet, current, abstraction.clusterNode(startFirst + i),
+                            currentG + fromStart[i], heuristic, map, goalX, goalY);
+                }
+                visited += relax(context, openSet, current, goalNode, currentG + direct, heuristic, map, goalX, goalY);
+                continue;
+            }
+
+            for (int e = abstraction.edgesStart(current); e < abstraction.edgesEnd(current); e++) {
+                visited += relax(context, openSet, current, abstraction.edgeTarget(e),
+                        currentG + abstraction.edgeCost(e), heuristic, map, goalX, goalY);
+            }
+            if (abstraction.clusterOf(abstraction.nodeCell(current)) == goalCluster) {
+                for (int i = 0; i < toGoal.length; i++) {
+                    if (abstraction.clusterNode(goalFirst + i) == current) {
+                        visited += relax(context, openSet, current, goalNode, currentG + toGoal[i], heuristic, map, goalX, goalY);
+                    }
+                }
+            }
+        }
+
+        if (!found) {
+            long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+            return SolverResult.failure(nodesExpanded + local.nodesExpanded, 0, maxMemory, elapsedMs);
+        }
+
+        // --- 3. Refine the abstract path to cells ---
+        List<Integer> abstractPath = new ArrayList<>();
+        for (int node = goalNode; node != -1; node = context.getParent(node)) {
+            abstractPath.add(0, node == startNode ? startCell : node == goalNode ? goalCell : abstraction.nodeCell(node));
+        }
+
+        List<Node> path = new ArrayList<>();
+        Node previous = new Node(startX, startY);
+        previous.g = 0;
+        path.add(previous);
+        for (int i = 1; i < abstractPath.size(); i++) {
+            int from = abstractPath.get(i - 1);
+            int to = abstractPath.get(i);
+            if (from == to) {
+                continue; // Start or goal is itself an abstract node
+            }
+            for (int cell : refine(local, from, to)) {
+                Node node = new Node(map.indexToX(cell), map.indexToY(cell));
+                node.g = previous.g + map.getCost(node.x, node.y);
+                node.parent = previous;
+                node.isInPath = true;
+                path.add(node);
+                previous = node;
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        return new SolverResult(path, previous.g, nodesExpanded + local.nodesExpanded, 0, maxMemory, true, elapsedMs);
+    }
+
+    /**
+     * Lowers the G-score of an abstract node if the new cost is better.
+     * @return 1 if the node was reached for the first time, else 0 (for the memory metric).
+     */
+    private int relax(SearchContext context, OpenList openSet, int from, int to, double g,
+                      Heuristic heuristic, GridMap map, int goalX, int goalY) {
+        if (g >= context.getG(to)) {
+            return 0;
+        }
+        int firstVisit = context.isVisited(to) ? 0 : 1;
+        context.setG(to, g, from);
+        double h = to == abstraction.getNodeCount() + 1 ? 0
+                : heuristic.compute(map.indexToX(abstraction.nodeCell(to)), map.indexToY(abstraction.nodeCell(to)), goalX, goalY, map);
+        openSet.push(to, g + h, h);
+        return firstVisit;
+    }
+
+    /**
+     * @return The cells after {@code from} up to and including {@code to}.
+     */
+    private List<Integer> refine(ClusterSearch local, int from, int to) {
+        List<Integer> cells = new ArrayList<>();
+        int cluster = abstraction.clusterOf(from);
+        if (cluster != abstraction.clusterOf(to)) {
+            cells.add(to); // Inter-edge: neighbouring cells across a border
+            return cells;
+        }
+        local.run(from, abstraction.clusterX0(cluster), abstraction.clusterY0(cluster), false, to);
+        for (int cell = to; cell != from; cell = local.parentOf(cell)) {
+            cells.add(0, cell);
+        }
+        return cells;
+    }
+}
@@ -1,5 +1,6 @@
 package algorithm;
 
+import model.CellType;
 import model.GridMap;
 import model.Node;
 
@@ -15,4 +16,39 @@ public interface Heuristic {
      * @return The estimated cost.
      */
     double compute(Node a, Node b, GridMap map);
+
+    /**
+     * Coordinate form of {@link #compute(Node, Node, GridMap)} used by the array-based solvers.
+     * The default wraps the coordinates in temporary Nodes; override it to avoid the allocation.
+     * @param x The current cell column.
+     * @param y The current cell row.
+     * @param goalX The goal column.
+     * @param goalY The goal row.
+     * @param map The map reference (for cost-aware calculations).
+     * @return The estimated cost.
+     */
+    default double compute(int x, int y, int goalX, int goalY, GridMap map) {
+        return compute(new Node(x, y), new Node(goalX, goalY), map);
+    }
+
+    /**
+     * Batch form of {@link #compute(int, int, int, int, GridMap)} for the cells generated by one
+     * expansion: out[n] receives the estimate for (xs[n], ys[n]), for n below count.
+     * The default scores the cells one by one; learned heuristics override it to share their
+     * per-call setup across the batch.
+     */
+    default void computeBatch(int[] xs, int[] ys, int count, int goalX, int goalY, GridMap map, double[] out) {
+        for (int n = 0; n < count; n++) {
+            out[n] = compute(xs[n], ys[n], goalX, goalY, map);
+        }
+    }
+
+    /**
+     * @return true if every estimate is an exact multiple of {@link CellType#COST_QUANTUM}
+     *         and changes by a bounded step between neighbours, so F-costs can be ordered
+     *         by a bucket queue instead of a comparison heap.
+     */
+    default boolean isQuantized() {
+        return false;
+    }
 }
\ No newline at end of file
@@ -14,54 +14,74 @@ public enum HeuristicType implements Heuristic {
 
     SCALED_MANHATTAN {
         @Override
-        public double compute(Node a, Node b, GridMap map) {
-            return 0.5 * (Math.abs(a.x - b.x) + Math.abs(a.y - b.y));
+        public double compute(int ax, int ay, int bx, int by, GridMap map) {
+            return 0.5 * (Math.abs(ax - bx) + Math.abs(ay - by));
+        }
+
+        @Override
+        public boolean isQuantized() {
+            return true;
         }
     },
 
     SCALED_EUCLIDEAN {
         @Override
-        public double compute(Node a, Node b, GridMap map) {
-            return 0.5 * Math.sqrt(Math.pow(a.x - b.x, 2) + Math.pow(a.y - b.y, 2));
+        public double compute(int ax, int ay, int bx, int by, GridMap map) {
+            return 0.5 * Math.sqrt(Math.pow(ax - bx, 2) + Math.pow(ay - by, 2));
         }
     },
 
     SCALED_CHEBYSHEV {
         @Override
-        public double compute(Node a, Node b, GridMap map) {
-            return 0.5 * Math.max(Math.abs(a.x - b.x), Math.abs(a.y - b.y));
+        public double compute(int ax, int ay, int bx, int by, GridMap map) {
+            return 0.5 * Math.max(Math.abs(ax - bx), Math.abs(ay - by));
+        }
+
+        @Override
+        public boolean isQuantized() {
+            return true;
         }
     },
 
     DIJKSTRA_ZERO {
         @Override
-        public double compute(Node a, Node b, GridMap map) {
+        public double compute(int ax, int ay, int bx, int by, GridMap map) {
             return 0.0;
         }
+
+        @Override
+        public boolean isQuantized() {
+            return true;
+        }
     },
 
     // --- B. INADMISSIBLE (Aggressive/Fast, but maybe not optimal) ---
 
     UNSCALED_MANHATTAN {
         @Override
-        public double compute(Node a, Node b, GridMap map) {
+        public double compute(int ax, int ay, int bx, int by, GridMap map) {
             // Assumes standard Road cost (1.0)
-            return 1.0 * (Math.abs(a.x - b.x) + Math.abs(a.y - b.y));
+            return 1.0 * (Math.abs(ax - bx) + Math.abs(ay - by));
+        }
+
+        @Override
+        public boolean isQuantized() {
+            return true;
         }
     },
 
     AVG_COST_MANHATTAN {
         @Override
-        public double compute(Node a, Node b, GridMap map) {
+        public double compute(int ax, int ay, int bx, int by, GridMap map) {
             // Approx average of (1, 5, 10, 0.5) ~ 4.1
-            return 4.1 * (Math.abs(a.x - b.x) + Math.abs(a.y - b.y));
+            return 4.1 * (Math.abs(ax - bx) + Math.abs(ay - by));
         }
     },
 
     MANHATTAN_SQUARED {
         @Override
-        public double compute(Node a, Node b, GridMap map) {
-            double dist = Math.abs(a.x - b.x) + Math.abs(a.y - b.y);
+        public double compute(int ax, int ay, int bx, int by, GridMap map) {
+            double dist = Math.abs(ax - bx) + Math.abs(ay - by);
             return dist * dist;
         }
     },
@@ -70,31 +90,42 @@ public enum HeuristicType implements Heuristic {
 
     CROSS_PRODUCT {
         @Override
-        public double compute(Node current, Node goal, GridMap map) {
-            Node start = map.getStartNode();
-            double dx1 = current.x - goal.x;
-            double dy1 = current.y - goal.y;
-            double dx2 = start.x - goal.x;
-            double dy2 = start.y - goal.y;
+        public double compute(int cx, int cy, int gx, int gy, GridMap map) {
+            double dx1 = cx - gx;
+            double dy1 = cy - gy;
+            double dx2 = map.getStartX() - gx;
+            double dy2 = map.getStartY() - gy;
             double cross = Math.abs(dx1 * dy2 - dx2 * dy1);
 
             // Base: Scaled Manhattan
-            double h = 0.5 * (Math.abs(current.x - goal.x) + Math.abs(current.y - goal.y));
+            double h = 0.5 * (Math.abs(cx - gx) + Math.abs(cy - gy));
             return h + (cross * 0.001);
         }
     },
 
     COST_AWARE {
         @Override
-        public double compute(Node a, Node b, GridMap map) {
-            double dist = 0.5 * (Math.abs(a.x - b.x) + Math.abs(a.y - b.y));
+        public double compute(int ax, int ay, int bx, int by, GridMap map) {
+            double dist = 0.5 * (Math.abs(ax - bx) + Math.abs(ay - by));
             // If target is a shortcut (Cost < 1.0), pull harder (reduce h slightly)
             // If target is Swamp (Cost >= 10), push away (increase h slightly) - heuristic manipulation
-            double targetCost = map.getCost(b.x, b.y);
+            double targetCost = map.getCost(bx, by);
 
             if (targetCost < 1.0) return dist * 0.9; // Pull towards shortcuts
             if (targetCost >= 10.0) return dist * 1.1; // Avoid swamp checks if possible
             return dist;
         }
     };
+
+    /**
+     * Coordinate form implemented by every constant; the Node form delegates here
+     * so the array-based solvers can query the enum without allocating Nodes.
+     */
+    @Override
+    public abstract double compute(int x, int y, int goalX, int goalY, GridMap map);
+
+    @Override
+    public double compute(Node a, Node b, GridMap map) {
+        return compute(a.x, a.y, b.x, b.y, map);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,216 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Iterative-deepening A* (Korf): depth-first passes bounded by an F-cost threshold, each pass
+ * raising the threshold to the lowest F-cost that exceeded it.
+ *
+ * Without a table the search only holds the current path (cycles are checked along it), so its
+ * memory is the path length, but on a grid every cell is reached by many paths and each pass
+ * walks all of them. A transposition table of a fixed number of entries remembers the best g
+ * seen per cell and prunes worse (and, within a pass, equal) arrivals; it is direct-mapped, so
+ * collisions just forget a cell and cost re-expansions, never correctness.
+ *
+ * The goal costs nothing to enter, so Manhattan-style estimates can overshoot the true cost by
+ * up to one step. The pass that first reaches the goal is therefore finished (pruned by the best
+ * cost so far) before the path is returned, which keeps the result optimal.
+ */
+public class IDAStar extends PathFinder {
+
+    // Deadline polled once per this many expansions
+    private static final int DEADLINE_CHECK_INTERVAL = 4096;
+
+    private final int tableEntries;
+
+    /**
+     * Plain IDA*: memory is the current path only.
+     */
+    public IDAStar() {
+        this(0);
+    }
+
+    /**
+     * @param tableEntries Transposition table size in cells (0 disables the table).
+     */
+    public IDAStar(int tableEntries) {
+        if (tableEntries < 0) {
+            throw new IllegalArgumentException("Table size must not be negative, got " + tableEntries);
+        }
+        this.tableEntries = tableEntries;
+    }
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        // Default timeout of 60 seconds if not specified
+        return solve(map, heuristic, 60000).path;
+    }
+
+    /**
+     * @param timeoutMs Maximum execution time in milliseconds.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs) {
+        long startTime = System.nanoTime();
+        long timeoutNs = timeoutMs * 1_000_000L;
+
+        int width = map.getWidth();
+        int goalX = map.getGoalX();
+        int goalY = map.getGoalY();
+        int startCell = map.toIndex(map.getStartX(), map.getStartY());
+        int goalCell = map.toIndex(goalX, goalY);
+
+        // Explicit stack (a recursive pass would overflow on long paths)
+        int[] stackCell = new int[16];
+        double[] stackG = new double[16];
+        int[] stackDir = new int[16];
+        boolean[] onPath = new boolean[map.getCellCount()];
+
+        // Direct-mapped transposition table: cell, best g, pass that stored it
+        int[] tableCell = new int[tableEntries];
+        double[] tableG = new double[tableEntries];
+        int[] tablePass = new int[tableEntries];
+        Arrays.fill(tableCell, -1);
+        int tableUsed = 0;
+
+        int nodesExpanded = 0;
+        int maxDepth = 1;
+        int pass = 0;
+
+        double bestCost = Double.POSITIVE_INFINITY;
+        int[] bestPath = null;
+        int bestLength = 0;
+
+        double threshold = startCell == goalCell ? 0 : heuristic.compute(map.getStartX(), map.getStartY(), goalX, goalY, map);
+        if (startCell == goalCell) {
+            bestCost = 0;
+            bestPath = new int[] {startCell};
+            bestLength = 1;
+        }
+
+        while (bestPath == null && threshold < Double.POSITIVE_INFINITY) {
+            pass++;
+            double nextThreshold = Double.POSITIVE_INFINITY;
+
+            int depth = 1;
+            stackCell[0] = startCell;
+            stackG[0] = 0;
+            stackDir[0] = 0;
+            onPath[startCell] = true;
+            if (tableEntries > 0) {
+                int slot = slot(startCell);
+                if (tableCell[slot] < 0) {
+                    tableUsed++;
+                }
+                tableCell[slot] = startCell;
+                tableG[slot] = 0;
+                tablePass[slot] = pass;
+            }
+
+            while (depth > 0) {
+                int top = depth - 1;
+                int current = stackCell[top];
+                if (stackDir[top] == 4) {
+                    onPath[current] = false;
+                    depth--;
+                    continue;
+                }
+                int dir = stackDir[top]++;
+                int nx = current % width + DX[dir];
+                int ny = current / width + DY[dir];
+                if (!map.isValid(nx, ny)) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+                int neighbor = ny * width + nx;
+                if (onPath[neighbor]) {
+                    continue;
+                }
+                double g = stackG[top] + type.getCost();
+                if (g >= bestCost) {
+                    continue; // Cannot improve the solution of this pass
+                }
+                double f = g + heuristic.compute(nx, ny, goalX, goalY, map);
+                if (f > threshold) {
+                    nextThreshold = Math.min(nextThreshold, f);
+                    continue;
+                }
+
+                if (tableEntries > 0) {
+                    int slot = slot(neighbor);
+                    if (tableCell[slot] == neighbor
+                            && (g > tableG[slot] || (g == tableG[slot] && tablePass[slot] == pass))) {
+                        continue; // Reached before at least as cheaply
+                    }
+                    if (tableCell[slot] < 0) {
+                        tableUsed++;
+                    }
+                    tableCell[slot] = neighbor;
+                    tableG[slot] = g;
+                    tablePass[slot] = pass;
+                }
+
+                if (neighbor == goalCell) {
+                    bestCost = g;
+                    bestLength = depth + 1;
+                    bestPath = Arrays.copyOf(stackCell, bestLength);
+                    bestPath[depth] = goalCell;
+                    continue;
+                }
+
+                if (depth == stackCell.length) {
+                    stackCell = Arrays.copyOf(stackCell, depth * 2);
+                    stackG = Arrays.copyOf(stackG, depth * 2);
+                    stackDir = Arrays.copyOf(stackDir, depth * 2);
+                }
+                stackCell[depth] = neighbor;
+                stackG[depth] = g;
+                stackDir[depth] = 0;
+                onPath[neighbor] = true;
+                depth++;
+                maxDepth = Math.max(maxDepth, depth);
+
+                // --- TIMEOUT CHECK ---
+                if (++nodesExpanded % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - startTime > timeoutNs) {
+                    long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+                    return SolverResult.failure(nodesExpanded, 0, maxDepth + tableUsed, elapsedMs);
+                }
+            }
+            threshold = nextThreshold;
+        }
+
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        if (bestPath == null) {
+            return SolverResult.failure(nodesExpanded, 0, maxDepth + tableUsed, elapsedMs);
+        }
+
+        Node end = null;
+        for (int i = 0; i < bestLength; i++) {
+            Node node = new Node(map.indexToX(bestPath[i]), map.indexToY(bestPath[i]));
+            node.g = end == null ? 0 : end.g + map.getCost(node.x, node.y);
+            node.parent = end;
+            end = node;
+        }
+        return new SolverResult(reconstructPath(end), bestCost, nodesExpanded, 0, maxDepth + tableUsed, true, elapsedMs);
+    }
+
+    public int getTableEntries() {
+        return tableEntries;
+    }
+
+    private int slot(int cell) {
+        // Spread neighbouring cells over the table (Murmur3 finalizer)
+        int h = cell;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return Math.floorMod(h, tableEntries);
+    }
+}
@@ -0,0 +1,146 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.List;
+
+/**
+ * A* (A-Star) over flat cell indices ({@code y * width + x}).
+ * Same search as {@link AStar}, but G-scores and parents live in primitive arrays sized
+ * from the GridMap, so the hot loop builds no String keys, boxes no Doubles and creates
+ * no Nodes. Nodes are only allocated for the final path.
+ */
+public class IndexedAStar extends PathFinder {
+
+    private final OpenListType openListType;
+
+    public IndexedAStar() {
+        this(OpenListType.INDEXED_HEAP);
+    }
+
+    public IndexedAStar(OpenListType openListType) {
+        this.openListType = openListType;
+    }
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic).path;
+    }
+
+    /**
+     * Executes the A* search and returns a detailed SolverResult.
+     * Reuses the calling thread's SearchContext, so repeated runs allocate almost nothing.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic, SearchContext.forCurrentThread());
+    }
+
+    /**
+     * Executes the A* search using the given (reusable) search state.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, SearchContext context) {
+        long startTime = System.nanoTime();
+
+        int width = map.getWidth();
+
+        // G-Scores and Parents indexed by cell (replaces the "x,y" HashMap), reset in O(1)
+        context.reset(map.getCellCount());
+
+        // Open Set: pluggable, ordered by F-cost (bucket queues fall back for fractional heuristics)
+        OpenList openSet = context.openList(openListType.resolveFor(heuristic));
+
+        // Metrics
+        int nodesExpanded = 0;
+        int maxMemory = 0;
+        int visited = 0;
+
+        int goalX = map.getGoalX();
+        int goalY = map.getGoalY();
+        int startCell = map.toIndex(map.getStartX(), map.getStartY());
+        int goalCell = map.toIndex(goalX, goalY);
+
+        // Neighbours improved by the current expansion, scored together
+        int[] batchX = new int[4];
+        int[] batchY = new int[4];
+        int[] batchCell = new int[4];
+        double[] batchH = new double[4];
+
+        // Initialize Start
+        context.setG(startCell, 0, -1);
+        visited++;
+        double startH = heuristic.compute(map.getStartX(), map.getStartY(), goalX, goalY, map);
+        openSet.push(startCell, startH, startH);
+
+        while (!openSet.isEmpty()) {
+            // Memory Tracking (same accounting as AStar: open entries + known G-scores;
+            // a lazy heap counts its stale duplicates here, an indexed heap has none)
+            maxMemory = Math.max(maxMemory, openSet.size() + visited);
+
+            int current = openSet.pop();
+
+            // Goal Check
+            if (current == goalCell) {
+                List<Node> path = reconstructPath(current, context.parents(), context.gScores(), map);
+                long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+                return new SolverResult(
+                        path,
+                        context.getG(current),
+                        nodesExpanded,
+                        0,
+                        maxMemory,
+                        true,
+                        elapsedMs
+                );
+            }
+
+            nodesExpanded++;
+
+            int cx = current % width;
+            int cy = current / width;
+            double currentG = context.getG(current);
+
+            // Expansion (same bounds/wall rules as PathFinder.getNeighbors)
+            int improved = 0;
+            for (int i = 0; i < 4; i++) {
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
+                if (!map.isValid(nx, ny)) {
+                    continue;
+                }
+                CellType type = map.getCellType(nx, ny);
+                if (!type.isTraversable()) {
+                    continue;
+                }
+
+                int neighbor = ny * width + nx;
+                double tentativeG = currentG + type.getCost();
+
+                // If this path to neighbor is better than any previous one
+                if (tentativeG < context.getG(neighbor)) {
+                    if (!context.isVisited(neighbor)) {
+                        visited++;
+                    }
+                    context.setG(neighbor, tentativeG, current);
+                    batchX[improved] = nx;
+                    batchY[improved] = ny;
+                    batchCell[improved] = neighbor;
+                    improved++;
+                }
+            }
+
+            // One heuristic call for the whole expansion (learned heuristics share their setup)
+            heuristic.computeBatch(batchX, batchY, improved, goalX, goalY, map, batchH);
+            for (int n = 0; n < improved; n++) {
+                // Lazy heaps append a duplicate, indexed heaps decrease the key in place
+                int neighbor = batchCell[n];
+                double h = batchH[n];
+                openSet.push(neighbor, context.getG(neighbor) + h, h);
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        return SolverResult.failure(nodesExpanded, 0, maxMemory, elapsedMs);
+    }
+}
@@ -0,0 +1,161 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Indexed 4-ary min-heap of cell indices ordered by F-cost, then H-cost.
+ * A position array per cell gives O(1) contains and lets an improved cell move up
+ * in place (true decrease-key), so each cell occupies at most one slot.
+ */
+class IndexedHeap implements OpenList {
+
+    private static final int ARITY = 4;
+
+    private final int[] heap;        // Cell per heap slot
+    private final double[] fScores;  // Keys stored per slot (contiguous for the sift loops)
+    private final double[] hScores;
+    private final int[] positions;   // Heap slot per cell (-1 = not queued)
+    private int size = 0;
+
+    IndexedHeap(int cellCount) {
+        this.heap = new int[cellCount];
+        this.fScores = new double[cellCount];
+        this.hScores = new double[cellCount];
+        this.positions = new int[cellCount];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Inserts the cell, or re-keys it in place if it is already queued.
+     * Works for both decreases and increases of the key.
+     */
+    @Override
+    public void push(int cell, double f, double h) {
+        int pos = positions[cell];
+        if (pos < 0) {
+            pos = size++;
+        }
+        siftDown(siftUp(pos, cell, f, h), cell, f, h);
+    }
+
+    @Override
+    public int pop() {
+        int cell = heap[0];
+        removeAt(0);
+        return cell;
+    }
+
+    /**
+     * @return The best cell without removing it.
+     */
+    int peek() {
+        return heap[0];
+    }
+
+    /**
+     * @return The F-cost of the best cell.
+     */
+    double peekF() {
+        return fScores[0];
+    }
+
+    /**
+     * @return The H-cost (tie-break key) of the best cell.
+     */
+    double peekH() {
+        return hScores[0];
+    }
+
+    /**
+     * Removes a queued cell; does nothing if the cell is not queued.
+     */
+    void remove(int cell) {
+        int pos = positions[cell];
+        if (pos >= 0) {
+            removeAt(pos);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int cell) {
+        return positions[cell] >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Resets only the slots still in use, so this is O(size) rather than O(cells).
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void removeAt(int pos) {
+        positions[heap[pos]] = -1;
+        size--;
+        if (pos < size) {
+            int last = heap[size];
+            double f = fScores[size];
+            double h = hScores[size];
+            siftDown(siftUp(pos, last, f, h), last, f, h);
+        }
+    }
+
+    /**
+     * Moves the hole at {@code pos} towards the root until the entry fits; returns the final slot.
+     */
+    private int siftUp(int pos, int cell, double f, double h) {
+        while (pos > 0) {
+            int parent = (pos - 1) / ARITY;
+            if (!less(f, h, fScores[parent], hScores[parent])) break;
+            place(pos, heap[parent], fScores[parent], hScores[parent]);
+            pos = parent;
+        }
+        place(pos, cell, f, h);
+        return pos;
+    }
+
+    private void siftDown(int pos, int cell, double f, double h) {
+        while (true) {
+            int firstChild = pos * ARITY + 1;
+            if (firstChild >= size) break;
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int best = firstChild;
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                if (less(fScores[c], hScores[c], fScores[best], hScores[best])) best = c;
+            }
+            if (!less(fScores[best], hScores[best], f, h)) break;
+            place(pos, heap[best], fScores[best], hScores[best]);
+            pos = best;
+        }
+        place(pos, cell, f, h);
+    }
+
+    private void place(int pos, int cell, double f, double h) {
+        heap[pos] = cell;
+        fScores[pos] = f;
+        hScores[pos] = h;
+        positions[cell] = pos;
+    }
+
+    // Same ordering as Node.compareTo: F-cost first, lower H-cost breaks ties
+    private static boolean less(double fa, double ha, double fb, double hb) {
+        int comparison = Double.compare(fa, fb);
+        if (comparison == 0) {
+            return ha < hb;
+        }
+        return comparison < 0;
+    }
+}
@@ -0,0 +1,211 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Min-max heap of int ids: the best and the worst entry are both reachable in O(log n).
+ * Even levels hold minima, odd levels maxima.
+ *
+ * The owner keeps the keys (in its own records or Node tables) and supplies the order; the heap
+ * only tracks where each id sits, so any entry can be removed or re-keyed in O(log n). Ids are
+ * small non-negative ints, such as the owner's table slots. Both arrays grow on demand.
+ */
+final class IntMinMaxHeap {
+
+    /**
+     * Strict order on ids, read from the owner's keys.
+     */
+    interface Order {
+        boolean less(int a, int b);
+    }
+
+    private final Order order;
+    private int[] heap;
+    private int[] positions;    // Id -> heap position, -1 if absent
+    private int size = 0;
+
+    IntMinMaxHeap(int capacity, Order order) {
+        this.order = order;
+        this.heap = new int[Math.max(1, capacity)];
+        this.positions = new int[Math.max(1, capacity)];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Removes every entry.
+     */
+    void clear() {
+        for (int pos = 0; pos < size; pos++) {
+            positions[heap[pos]] = -1;
+        }
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int id) {
+        return id < positions.length && positions[id] >= 0;
+    }
+
+    /**
+     * Adds an id that is not in the heap, keyed by its current key.
+     */
+    void add(int id) {
+        if (id >= positions.length) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(positions, oldLength, positions.length, -1);
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        set(size, id);
+        pushUp(size++);
+    }
+
+    /**
+     * Removes the id if it is in the heap.
+     */
+    void remove(int id) {
+        if (contains(id)) {
+            removeAt(positions[id]);
+        }
+    }
+
+    /**
+     * Restores the order after the owner changed the id's key (no-op if it is not in the heap).
+     */
+    void update(int id) {
+        if (contains(id)) {
+            pushDown(positions[id]);
+            pushUp(positions[id]);
+        }
+    }
+
+    int peekMin() {
+        return heap[0];
+    }
+
+    int pollMin() {
+        int best = heap[0];
+        removeAt(0);
+        return best;
+    }
+
+    int pollMax() {
+        int pos = maxPosition();
+        int worst = heap[pos];
+        removeAt(pos);
+        return worst;
+    }
+
+    private int maxPosition() {
+        if (size <= 1) return 0;
+        if (size == 2) return 1;
+        return order.less(heap[1], heap[2]) ? 2 : 1;
+    }
+
+    private void removeAt(int pos) {
+        positions[heap[pos]] = -1;
+        size--;
+        if (pos == size) {
+            return;
+        }
+        int moved = heap[size];
+        set(pos, moved);
+        // Settle below first, then let it rise past any ancestor it outranks
+        pushDown(pos);
+        pushUp(positions[moved]);
+    }
+
+    private static boolean isMinLevel(int pos) {
+        // Level = floor(log2(pos + 1)); even levels are min levels
+        return ((31 - Integer.numberOfLeadingZeros(pos + 1)) & 1) == 0;
+    }
+
+    private void pushUp(int pos) {
+        if (pos == 0) return;
+        int parent = (pos - 1) / 2;
+        if (isMinLevel(pos)) {
+            if (order.less(heap[parent], heap[pos])) {
+                swap(pos, parent);
+                pushUpChain(parent, true);
+            } else {
+                pushUpChain(pos, false);
+            }
+        } else {
+            if (order.less(heap[pos], heap[parent])) {
+                swap(pos, parent);
+                pushUpChain(parent, false);
+            } else {
+                pushUpChain(pos, true);
+            }
+        }
+    }
+
+    /**
+     * Bubbles up through grandparents; {@code towardsMax} selects the max-level chain.
+     */
+    private void pushUpChain(int pos, boolean towardsMax) {
+        while (pos > 2) {
+            int grandparent = ((pos - 1) / 2 - 1) / 2;
+            boolean move = towardsMax
+                    ? order.less(heap[grandparent], heap[pos])
+                    : order.less(heap[pos], heap[grandparent]);
+            if (!move) break;
+            swap(pos, grandparent);
+            pos = grandparent;
+        }
+    }
+
+    private void pushDown(int pos) {
+        boolean minLevel = isMinLevel(pos);
+        while (true) {
+            int firstChild = 2 * pos + 1;
+            if (firstChild >= size) return;
+
+            // Extreme among children and grandchildren
+            int extreme = firstChild;
+            int lastDescendant = Math.min(4 * pos + 6, size - 1);
+            for (int d = firstChild + 1; d <= lastDescendant; d++) {
+                if (d == 2 * pos + 3) d = 4 * pos + 3; // skip to grandchildren after the two children
+                if (d > lastDescendant) break;
+                if (minLevel ? order.less(heap[d], heap[extreme]) : order.less(heap[extreme], heap[d])) {
+                    extreme = d;
+                }
+            }
+
+            boolean improves = minLevel ? order.less(heap[extreme], heap[pos]) : order.less(heap[pos], heap[extreme]);
+            if (!improves) return;
+            swap(pos, extreme);
+
+            if (extreme <= 2 * pos + 2) {
+                return; // A child: its level has the opposite order, so stop here
+            }
+
+            int parent = (extreme - 1) / 2;
+            boolean outOfOrder = minLevel ? order.less(heap[parent], heap[extreme]) : order.less(heap[extreme], heap[parent]);
+            if (outOfOrder) {
+                swap(extreme, parent);
+            }
+            pos = extreme;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = heap[a];
+        set(a, heap[b]);
+        set(b, id);
+    }
+
+    private void set(int pos, int id) {
+        heap[pos] = id;
+        positions[id] = pos;
+    }
+}
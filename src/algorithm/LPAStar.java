@@ -0,0 +1,312 @@
+package algorithm;
+
+import model.CellChangeListener;
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lifelong Planning A* (Koenig, Likhachev &amp; Furcy): incremental replanning on an editable map.
+ *
+ * The first {@link #solve} on a map is a plain A* that keeps its G-scores. The solver then listens
+ * to the map's terrain edits and, on the next solve, only repairs the cells whose best cost
+ * changed, instead of searching again from scratch. Each cell holds g (cost as last expanded) and
+ * rhs (one-step lookahead: its own cost plus the best neighbour's g); the Open Set holds the cells
+ * where the two disagree, keyed by [min(g, rhs) + h, min(g, rhs)].
+ *
+ * Since entering a cell costs that cell, an edit only changes the rhs of the edited cell itself.
+ * H-costs are computed once per cell and kept across repairs, so keys stay valid even for
+ * heuristics that read map-wide statistics.
+ *
+ * Stateful: one instance follows one map (and heuristic) at a time and is not thread-safe.
+ * Solving a different map or with a different heuristic starts over.
+ */
+public class LPAStar extends PathFinder implements CellChangeListener {
+
+    private GridMap map;
+    private Heuristic heuristic;
+    private int startCell;
+    private int goalCell;
+    private double goalKeyH;     // H-cost used in the goal's key for the stopping test
+
+    private double[] g;
+    private double[] rhs;
+    private double[] hCache;     // NaN until first needed
+    private int[] parents;       // Scratch for path reconstruction
+    private IndexedHeap openSet;
+    private int touched;         // Cells that ever held search state (memory metric)
+
+    // Edits received since the last solve (deduplicated by the mark array)
+    private int[] pending = new int[16];
+    private int pendingCount = 0;
+    private boolean[] isPending;
+    private boolean stale = true;
+
+    @Override
+    public List<Node> findPath(GridMap map, Heuristic heuristic) {
+        return solve(map, heuristic).path;
+    }
+
+    /**
+     * Solves the map, repairing the previous search if it was on the same map and heuristic.
+     * @return NodesExpanded counts only this call's expansions (the repair cost).
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic) {
+        long startTime = System.nanoTime();
+
+        int nodesExpanded = 0;
+        if (map != this.map || heuristic != this.heuristic || stale) {
+            attach(map, heuristic);
+        } else {
+            for (int i = 0; i < pendingCount; i++) {
+                isPending[pending[i]] = false;
+                updateVertex(pending[i]);
+            }
+            pendingCount = 0;
+        }
+
+        nodesExpanded += propagate();
+
+        long elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+        if (g[goalCell] == Double.POSITIVE_INFINITY) {
+            return SolverResult.failure(nodesExpanded, 0, touched, elapsedMs);
+        }
+
+        int[] pathParents = tracePath();
+        if (pathParents == null) {
+            // Only an inconsistent heuristic can leave a stale cell on the path: search afresh, once
+            attach(map, heuristic);
+            nodesExpanded += propagate();
+            elapsedMs = (System.nanoTime() - startTime) / 1_000_000L;
+            pathParents = g[goalCell] == Double.POSITIVE_INFINITY ? null : tracePath();
+            if (pathParents == null) {
+                return SolverResult.failure(nodesExpanded, 0, touched, elapsedMs);
+            }
+        }
+        List<Node> path = reconstructPath(goalCell, pathParents, g, map);
+        return new SolverResult(path, g[goalCell], nodesExpanded, 0, touched, true, elapsedMs);
+    }
+
+    /**
+     * Stops listening to the current map and drops the search state.
+     */
+    public void detach() {
+        if (map != null) {
+            map.removeChangeListener(this);
+        }
+        map = null;
+        heuristic = null;
+        stale = true;
+    }
+
+    @Override
+    public void cellsChanged(GridMap map, int[] cells) {
+        if (map != this.map) {
+            return;
+        }
+        for (int cell : cells) {
+            if (!isPending[cell]) {
+                isPending[cell] = true;
+                if (pendingCount == pending.length) {
+                    pending = Arrays.copyOf(pending, pendingCount * 2);
+                }
+                pending[pendingCount++] = cell;
+            }
+        }
+    }
+
+    @Override
+    public void mapReplaced(GridMap map) {
+        if (map == this.map) {
+            stale = true; // Sizes and endpoints may have changed: start over on the next solve
+        }
+    }
+
+    /**
+     * Pops inconsistent cells until the goal's key is settled.
+     * @return The number of cells expanded.
+     */
+    private int propagate() {
+        int nodesExpanded = 0;
+        int width = map.getWidth();
+        // Ties with the goal's key are processed too: the goal costs nothing to enter, so its best
+        // neighbour can carry exactly the goal's key and must not be left stale
+        while (!openSet.isEmpty() && (!goalKeyLess(openSet.peekF(), openSet.peekH()) || rhs[goalCell] != g[goalCell])) {
+            int current = openSet.pop();
+            nodesExpanded++;
+            int cx = current % width;
+            int cy = current / width;
+
+            if (g[current] > rhs[current]) {
+                // Overconsistent: settle the lower cost and offer it to the neighbours
+                g[current] = rhs[current];
+                for (int i = 0; i < 4; i++) {
+                    int nx = cx + DX[i];
+                    int ny = cy + DY[i];
+                    if (!map.isValid(nx, ny)) {
+                        continue;
+                    }
+                    int neighbor = ny * width + nx;
+                    double candidate = g[current] + map.getCost(nx, ny);
+                    if (neighbor != startCell && candidate < rhs[neighbor]) {
+                        rhs[neighbor] = candidate;
+                        queue(neighbor);
+                    }
+                }
+            } else {
+                // Underconsistent: the old cost is gone, so it and its dependants are recomputed
+                g[current] = Double.POSITIVE_INFINITY;
+                updateVertex(current);
+                for (int i = 0; i < 4; i++) {
+                    int nx = cx + DX[i];
+                    int ny = cy + DY[i];
+                    if (map.isValid(nx, ny)) {
+                        updateVertex(ny * width + nx);
+                    }
+                }
+            }
+        }
+        return nodesExpanded;
+    }
+
+    /**
+     * Starts a fresh search on the map: every cell unknown, only the start queued.
+     */
+    private void attach(GridMap map, Heuristic heuristic) {
+        if (this.map != map) {
+            detach();
+            if (!map.isSnapshot()) {
+                map.addChangeListener(this);
+            }
+        }
+        this.map = map;
+        this.heuristic = heuristic;
+        this.stale = false;
+
+        int cellCount = map.getCellCount();
+        if (g == null || g.length != cellCount) {
+            g = new double[cellCount];
+            rhs = new double[cellCount];
+            hCache = new double[cellCount];
+            parents = new int[cellCount];
+            isPending = new boolean[cellCount];
+            openSet = new IndexedHeap(cellCount);
+        }
+        Arrays.fill(g, Double.POSITIVE_INFINITY);
+        Arrays.fill(rhs, Double.POSITIVE_INFINITY);
+        Arrays.fill(hCache, Double.NaN);
+        Arrays.fill(isPending, false);
+        pendingCount = 0;
+        openSet.clear();
+        touched = 0;
+
+        startCell = map.toIndex(map.getStartX(), map.getStartY());
+        goalCell = map.toIndex(map.getGoalX(), map.getGoalY());
+
+        // The goal is free to enter, so Manhattan-style estimates overshoot by one step next to it;
+        // lifting the goal's key to its neighbours' keeps them from being skipped while stale
+        goalKeyH = h(goalCell);
+        for (int i = 0; i < 4; i++) {
+            int nx = map.getGoalX() + DX[i];
+            int ny = map.getGoalY() + DY[i];
+            if (map.isValid(nx, ny)) {
+                goalKeyH = Math.max(goalKeyH, h(map.toIndex(nx, ny)));
+            }
+        }
+        rhs[startCell] = 0;
+        queue(startCell);
+    }
+
+    /**
+     * Recomputes a cell's rhs from its neighbours and (re)queues it if g and rhs disagree.
+     */
+    private void updateVertex(int cell) {
+        if (cell != startCell) {
+            int width = map.getWidth();
+            int cx = cell % width;
+            int cy = cell / width;
+            double best = Double.POSITIVE_INFINITY;
+            CellType type = map.getCellType(cx, cy);
+            if (type.isTraversable()) {
+                for (int i = 0; i < 4; i++) {
+                    int nx = cx + DX[i];
+                    int ny = cy + DY[i];
+                    if (map.isValid(nx, ny)) {
+                        best = Math.min(best, g[ny * width + nx]);
+                    }
+                }
+                best += type.getCost();
+            }
+            rhs[cell] = best;
+        }
+        queue(cell);
+    }
+
+    /**
+     * Queues an inconsistent cell under its current key, or dequeues a consistent one.
+     */
+    private void queue(int cell) {
+        if (g[cell] != rhs[cell]) {
+            double k2 = Math.min(g[cell], rhs[cell]);
+            openSet.push(cell, k2 + h(cell), k2);
+        } else if (openSet.contains(cell)) {
+            openSet.remove(cell);
+        }
+    }
+
+    /**
+     * @return true if the goal's key sorts strictly before [k1, k2].
+     */
+    private boolean goalKeyLess(double k1, double k2) {
+        double goalK2 = Math.min(g[goalCell], rhs[goalCell]);
+        double goalK1 = goalK2 + goalKeyH;
+        return goalK1 < k1 || (goalK1 == k1 && goalK2 < k2);
+    }
+
+    private double h(int cell) {
+        double value = hCache[cell];
+        if (Double.isNaN(value)) {
+            int width = map.getWidth();
+            value = heuristic.compute(cell % width, cell / width, map.getGoalX(), map.getGoalY(), map);
+            hCache[cell] = value;
+            touched++;
+        }
+        return value;
+    }
+
+    /**
+     * Follows the cheapest neighbour back from the goal (g is exact along the path once the
+     * search is done) and records the parents for reconstructPath.
+     * @return The parents, or null if a step does not match its G-score (stale cell).
+     */
+    private int[] tracePath() {
+        int width = map.getWidth();
+        parents[startCell] = -1;
+        int cell = goalCell;
+        while (cell != startCell) {
+            int cx = cell % width;
+            int cy = cell / width;
+            int best = -1;
+            for (int i = 0; i < 4; i++) {
+                int nx = cx + DX[i];
+                int ny = cy + DY[i];
+                if (map.isValid(nx, ny)) {
+                    int neighbor = ny * width + nx;
+                    if (best < 0 || g[neighbor] < g[best]) {
+                        best = neighbor;
+                    }
+                }
+            }
+            // Costs are positive off the goal, so matching steps strictly descend to the start
+            if (g[best] + map.getCost(cx, cy) != g[cell]) {
+                return null;
+            }
+            parents[cell] = best;
+            cell = best;
+        }
+        return parents;
+    }
+}
@@ -0,0 +1,167 @@
+package algorithm;
+
+import model.CellType;
+import model.GridMap;
+import model.Node;
+
+import java.util.Arrays;
+
+/**
+ * ALT heuristic (A*, Landmarks, Triangle inequality; Goldberg &amp; Harrelson).
+ *
+ * K landmarks are picked per map by farthest-point selection, and one forward and one reverse
+ * Dijkstra from each fill two {@code float[]} tables (interleaved per cell, K entries each).
+ * Since costs are directed, for any landmark L:
+ *   d(u, t) >= d(L, t) - d(L, u)   and   d(u, t) >= d(u, L) - d(t, L)
+ * The estimate is the largest such bound, and never less than half a unit per step before the goal
+ * (the goal step is free, so this floor is SCALED_MANHATTAN minus 0.5). It is admissible and
+ * consistent, except for paths through START, the one other cell that costs less than half a
+ * unit. It follows the real terrain costs (mud, traffic) instead of the cheapest cell everywhere.
+ *
+ * The tables belong to one map; other maps get plain SCALED_MANHATTAN.
+ */
+public class LandmarkHeuristic implements Heuristic {
+
+    public static final int DEFAULT_LANDMARKS = 8;
+
+    private final GridMap map;
+    private final int landmarkCount;
+    private final int[] landmarks;
+    private final float[] fromLandmark; // d(L, cell) at [cell * K + l]
+    private final float[] toLandmark;   // d(cell, L) at [cell * K + l]
+    private final long preprocessingTimeNs;
+
+    private LandmarkHeuristic(GridMap map, int requested) {
+        long startTime = System.nanoTime();
+        this.map = map;
+
+        int cellCount = map.getCellCount();
+        float[] forward = new float[cellCount];
+        float[] reverse = new float[cellCount];
+        double[] work = new double[cellCount];
+        BucketQueue queue = new BucketQueue(cellCount, CellType.COST_QUANTUM);
+
+        // Farthest-point selection: seed from the start cell, then keep taking the reachable cell
+        // farthest from every landmark chosen so far
+        float[] nearest = new float[cellCount];
+        Arrays.fill(nearest, Float.POSITIVE_INFINITY);
+        int[] chosen = new int[requested];
+        int count = 0;
+        int seed = map.toIndex(map.getStartX(), map.getStartY());
+        GridDijkstra.distances(map, seed, false, forward, work, queue);
+        float[][] forwardTables = new float[requested][];
+        float[][] reverseTables = new float[requested][];
+
+        while (count < requested) {
+            int next = -1;
+            float best = -1;
+            for (int cell = 0; cell < cellCount; cell++) {
+                float score = Math.min(nearest[cell], forward[cell]);
+                if (score < Float.POSITIVE_INFINITY && score > best) {
+                    best = score;
+                    next = cell;
+                }
+            }
+            if (next < 0 || (count > 0 && best == 0)) {
+                break; // Every reachable cell is already a landmark
+            }
+
+            GridDijkstra.distances(map, next, false, forward, work, queue);
+            GridDijkstra.distances(map, next, true, reverse, work, queue);
+            forwardTables[count] = forward.clone();
+            reverseTables[count] = reverse.clone();
+            chosen[count++] = next;
+            for (int cell = 0; cell < cellCount; cell++) {
+                nearest[cell] = Math.min(nearest[cell], forward[cell]);
+            }
+        }
+
+        this.landmarkCount = count;
+        this.landmarks = Arrays.copyOf(chosen, count);
+        this.fromLandmark = new float[cellCount * count];
+        this.toLandmark = new float[cellCount * count];
+        for (int l = 0; l < count; l++) {
+            for (int cell = 0; cell < cellCount; cell++) {
+                fromLandmark[cell * count + l] = forwardTables[l][cell];
+                toLandmark[cell * count + l] = reverseTables[l][cell];
+            }
+        }
+        this.preprocessingTimeNs = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Selects landmarks and precomputes the distance tables for a map.
+     * @param landmarks Number of landmarks K (fewer if the map has fewer reachable cells).
+     */
+    public static LandmarkHeuristic build(GridMap map, int landmarks) {
+        if (landmarks < 1) {
+            throw new IllegalArgumentException("At least one landmark is required, got " + landmarks);
+        }
+        return new LandmarkHeuristic(map, landmarks);
+    }
+
+    @Override
+    public double compute(Node a, Node b, GridMap map) {
+        return compute(a.x, a.y, b.x, b.y, map);
+    }
+
+    @Override
+    public double compute(int x, int y, int goalX, int goalY, GridMap map) {
+        if (map != this.map) {
+            return HeuristicType.SCALED_MANHATTAN.compute(x, y, goalX, goalY, map);
+        }
+
+        // Half a unit per step, except the free step into the goal
+        double h = 0.5 * Math.max(0, Math.abs(x - goalX) + Math.abs(y - goalY) - 1);
+
+        int u = (y * map.getWidth() + x) * landmarkCount;
+        int t = (goalY * map.getWidth() + goalX) * landmarkCount;
+        for (int l = 0; l < landmarkCount; l++) {
+            // Unreachable entries (+Infinity) give no usable bound
+            float landmarkToGoal = fromLandmark[t + l];
+            float landmarkToCell = fromLandmark[u + l];
+            if (landmarkToGoal != Float.POSITIVE_INFINITY && landmarkToCell != Float.POSITIVE_INFINITY) {
+                h = Math.max(h, landmarkToGoal - landmarkToCell);
+            }
+            float cellToLandmark = toLandmark[u + l];
+            float goalToLandmark = toLandmark[t + l];
+            if (cellToLandmark != Float.POSITIVE_INFINITY && goalToLandmark != Float.POSITIVE_INFINITY) {
+                h = Math.max(h, cellToLandmark - goalToLandmark);
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Bounds are differences of half-unit path costs, and SCALED_MANHATTAN is quantized too.
+     */
+    @Override
+    public boolean isQuantized() {
+        return true;
+    }
+
+    public int getLandmarkCount() {
+        return landmarkCount;
+    }
+
+    /**
+     * @return The landmark cells (flat indices), in selection order.
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * @return Wall-clock time spent selecting landmarks and filling the tables, in nanoseconds.
+     */
+    public long getPreprocessingTimeNs() {
+        return preprocessingTimeNs;
+    }
+
+    /**
+     * @return Bytes held by the distance tables.
+     */
+    public long footprintBytes() {
+        return 4L * (fromLandmark.length + toLandmark.length + landmarks.length);
+    }
+}
@@ -0,0 +1,147 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Primitive binary min-heap of cell indices ordered by F-cost, then H-cost.
+ * Mirrors the "Lazy Deletion" strategy of AStar's PriorityQueue: re-pushing a cell
+ * leaves the old entry in the heap, and stale copies are skipped when they surface.
+ */
+class LazyBinaryHeap implements OpenList {
+
+    private int[] cells;
+    private double[] fScores;
+    private double[] hScores;
+    private int size = 0;
+
+    // F-cost of the most recent push per cell (NaN = not in the open set)
+    private final double[] liveF;
+
+    LazyBinaryHeap(int cellCount) {
+        int initialCapacity = Math.max(16, Math.min(cellCount, 1024));
+        this.cells = new int[initialCapacity];
+        this.fScores = new double[initialCapacity];
+        this.hScores = new double[initialCapacity];
+        this.liveF = new double[cellCount];
+        Arrays.fill(liveF, Double.NaN);
+    }
+
+    /**
+     * Adds a cell (or a cheaper copy of a cell that is already queued).
+     */
+    @Override
+    public void push(int cell, double f, double h) {
+        if (size == cells.length) {
+            int newCapacity = size * 2;
+            cells = Arrays.copyOf(cells, newCapacity);
+            fScores = Arrays.copyOf(fScores, newCapacity);
+            hScores = Arrays.copyOf(hScores, newCapacity);
+        }
+        liveF[cell] = f;
+        cells[size] = cell;
+        fScores[size] = f;
+        hScores[size] = h;
+        siftUp(size++);
+    }
+
+    /**
+     * Removes and returns the best live cell. Call {@link #isEmpty()} first.
+     */
+    @Override
+    public int pop() {
+        int cell = cells[0];
+        liveF[cell] = Double.NaN;
+        removeTop();
+        return cell;
+    }
+
+    /**
+     * Drops stale duplicates from the top of the heap, then reports whether a live cell remains.
+     */
+    @Override
+    public boolean isEmpty() {
+        while (size > 0 && fScores[0] != liveF[cells[0]]) {
+            removeTop();
+        }
+        return size == 0;
+    }
+
+    /**
+     * Physical entry count, stale duplicates included (same as PriorityQueue.size() in AStar).
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int cell) {
+        return !Double.isNaN(liveF[cell]);
+    }
+
+    /**
+     * Only the cells still in the heap can have a live entry, so this is O(size).
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            liveF[cells[i]] = Double.NaN;
+        }
+        size = 0;
+    }
+
+    private void removeTop() {
+        size--;
+        if (size > 0) {
+            move(size, 0);
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!less(pos, parent)) break;
+            swap(pos, parent);
+            pos = parent;
+        }
+    }
+
+    private void siftDown(int pos) {
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) break;
+            int best = left;
+            int right = left + 1;
+            if (right < size && less(right, left)) best = right;
+            if (!less(best, pos)) break;
+            swap(pos, best);
+            pos = best;
+        }
+    }
+
+    // Same ordering as Node.compareTo: F-cost first, lower H-cost breaks ties
+    private boolean less(int a, int b) {
+        int comparison = Double.compare(fScores[a], fScores[b]);
+        if (comparison == 0) {
+            return hScores[a] < hScores[b];
+        }
+        return comparison < 0;
+    }
+
+    private void move(int from, int to) {
+        cells[to] = cells[from];
+        fScores[to] = fScores[from];
+        hScores[to] = hScores[from];
+    }
+
+    private void swap(int a, int b) {
+        int cell = cells[a];
+        double f = fScores[a];
+        double h = hScores[a];
+        move(b, a);
+        cells[b] = cell;
+        fScores[b] = f;
+        hScores[b] = h;
+    }
+}
@@ -1,5 +1,6 @@
 package algorithm;
 
+import model.CellType;
 import model.GridMap;
 import model.Node;
 
@@ -10,37 +11,53 @@ import java.util.Properties;
 /**
  * Multi-Layer Perceptron (MLP) Neural Network Heuristic.
  * Implements a 3-layer neural network: 6 inputs -> 8 hidden -> 4 hidden -> 1 output.
+ *
+ * Only the first two inputs (Manhattan and Euclidean distance) change from cell to cell; the
+ * terrain percentages are constant for a map. Their contribution to layer 1 is folded into its
+ * biases once per map, so a forward pass multiplies two inputs instead of six. Models trained
+ * with box features (INPUT_SIZE=10) also read the terrain in the node-goal bounding box, four
+ * more per-cell inputs answered in O(1) by GridMap's summed-area tables. Weights are kept
+ * in flat row-major arrays and the hidden layer goes to a per-thread scratch array, so inference
+ * allocates nothing.
+ *
+ * The weights are only written by the constructor and per-map state lives in an immutable
+ * context, so one loaded model can serve any number of concurrent searches once it has been
+ * handed over safely.
  */
 public class MLPHeuristic implements Heuristic {
 
     private static final String CONFIG_FILE = "ml_weights_mlp.properties";
-    
+
+    // Input layout: [0, 2) distances and [6, 10) box terrain vary per cell, [2, 6) are map-level
+    private static final int CELL_INPUTS = 2;
+    private static final int MAP_INPUTS_END = 6;
+    private static final int BOX_INPUTS_END = 10;
+
     // Network architecture
     private int inputSize = 6;
     private int hidden1Size = 8;
     private int hidden2Size = 4;
     private int outputSize = 1;
-    
-    // Layer 1 weights and biases (Input -> Hidden1)
-    private double[][] layer1Weights;  // [8][6]
+
+    // Layer 1 weights and biases (Input -> Hidden1), row-major: [j * inputSize + i]
+    private double[] layer1Weights;    // [8 * 6]
     private double[] layer1Biases;     // [8]
-    
-    // Layer 2 weights and biases (Hidden1 -> Hidden2)
-    private double[][] layer2Weights;  // [4][8]
+
+    // Layer 2 weights and biases (Hidden1 -> Hidden2), row-major: [j * hidden1Size + i]
+    private double[] layer2Weights;    // [4 * 8]
     private double[] layer2Biases;     // [4]
-    
+
     // Layer 3 weights and biases (Hidden2 -> Output)
     private double[] layer3Weights;    // [4]
     private double layer3Bias;         // scalar
-    
+
     private boolean modelLoaded = false;
-    
-    // Cache for map-level features
-    private GridMap cachedMap = null;
-    private double cachedPctMaintenance = 0.0;
-    private double cachedPctTraffic = 0.0;
-    private double cachedPctShortcut = 0.0;
-    private double cachedPctWall = 0.0;
+
+    // Per-map state, replaced (never mutated) when another map comes in
+    private volatile MapContext mapContext = null;
+
+    // Hidden-layer scratch per thread, so a forward pass allocates nothing
+    private final ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[hidden1Size]);
 
     public MLPHeuristic() {
         loadModel();
@@ -58,9 +75,12 @@ public class MLPHeuristic implements Heuristic {
             outputSize = Integer.parseInt(props.getProperty("OUTPUT_SIZE", "1"));
 
             // Allocate arrays
-            layer1Weights = new double[hidden1Size][inputSize];
+            if (inputSize < CELL_INPUTS) {
+                throw new NumberFormatException("INPUT_SIZE must be at least " + CELL_INPUTS);
+            }
+            layer1Weights = new double[hidden1Size * inputSize];
             layer1Biases = new double[hidden1Size];
-            layer2Weights = new double[hidden2Size][hidden1Size];
+            layer2Weights = new double[hidden2Size * hidden1Size];
             layer2Biases = new double[hidden2Size];
             layer3Weights = new double[hidden2Size];
             layer3Bias = 0.0;
@@ -68,7 +88,7 @@ public class MLPHeuristic implements Heuristic {
             // Load Layer 1 (Input -> Hidden1)
             for (int j = 0; j < hidden1Size; j++) {
                 for (int i = 0; i < inputSize; i++) {
-                    layer1Weights[j][i] = Double.parseDouble(
+                    layer1Weights[j * inputSize + i] = Double.parseDouble(
                         props.getProperty("L1_W_" + j + "_" + i, "0.0"));
                 }
             }
@@ -80,7 +100,7 @@ public class MLPHeuristic implements Heuristic {
             // Load Layer 2 (Hidden1 -> Hidden2)
             for (int j = 0; j < hidden2Size; j++) {
                 for (int i = 0; i < hidden1Size; i++) {
-                    layer2Weights[j][i] = Double.parseDouble(
+                    layer2Weights[j * hidden1Size + i] = Double.parseDouble(
                         props.getProperty("L2_W_" + j + "_" + i, "0.0"));
                 }
             }
@@ -110,77 +130,140 @@ public class MLPHeuristic implements Heuristic {
     }
 
     /**
-     * ReLU activation function: max(0, x)
+     * Immutable per-map state: the layer 1 biases with the terrain percentages folded in.
+     * Searches on other threads read it without locking; if two threads race on a new map, each
+     * builds an equal context and either one may win.
      */
-    private double relu(double x) {
-        return Math.max(0, x);
+    private static final class MapContext {
+        final GridMap map;
+        final double[] foldedBiases;   // [8], never written after construction
+
+        MapContext(GridMap map, double[] foldedBiases) {
+            this.map = map;
+            this.foldedBiases = foldedBiases;
+        }
     }
 
     /**
-     * Updates cached map-level features.
+     * Returns the context for this map, folding the map-level inputs into the layer 1 biases
+     * only when the map changes.
      */
-    private void updateMapEnvironment(GridMap map) {
-        if (map == cachedMap) return;
+    private MapContext contextFor(GridMap map) {
+        MapContext context = mapContext;
+        if (context != null && context.map == map) {
+            return context;
+        }
 
-        this.cachedPctMaintenance = map.getPercentMaintenance();
-        this.cachedPctTraffic = map.getPercentHighTraffic();
-        this.cachedPctShortcut = map.getPercentShortcut();
-        this.cachedPctWall = map.getPercentWall();
+        // Same order as training: pct_maintenance, pct_hightraffic, pct_shortcut, pct_wall
+        double[] mapInputs = {
+                map.getPercentMaintenance(),
+                map.getPercentHighTraffic(),
+                map.getPercentShortcut(),
+                map.getPercentWall()
+        };
+        double[] biases = new double[hidden1Size];
+        for (int j = 0; j < hidden1Size; j++) {
+            double sum = layer1Biases[j];
+            for (int i = CELL_INPUTS; i < Math.min(inputSize, MAP_INPUTS_END); i++) {
+                sum += mapInputs[i - CELL_INPUTS] * layer1Weights[j * inputSize + i];
+            }
+            biases[j] = sum;
+        }
 
-        this.cachedMap = map;
+        context = new MapContext(map, biases);
+        mapContext = context;
+        return context;
     }
 
     @Override
     public double compute(Node current, Node goal, GridMap map) {
+        return compute(current.x, current.y, goal.x, goal.y, map);
+    }
+
+    @Override
+    public double compute(int x, int y, int goalX, int goalY, GridMap map) {
         if (!modelLoaded) {
             // Fallback to simple Manhattan distance
-            return Math.abs(current.x - goal.x) + Math.abs(current.y - goal.y);
+            return Math.abs(x - goalX) + Math.abs(y - goalY);
         }
 
-        // 1. Update Map Context
-        updateMapEnvironment(map);
+        // 1. Map Context (folded biases, computed once per map)
+        MapContext context = contextFor(map);
 
-        // 2. Prepare input features (same order as training)
-        double[] input = new double[inputSize];
-        double dx = Math.abs(current.x - goal.x);
-        double dy = Math.abs(current.y - goal.y);
-        input[0] = dx + dy;  // manhattan_dist
-        input[1] = Math.sqrt(dx * dx + dy * dy);  // euclidean_dist
-        input[2] = cachedPctMaintenance;  // pct_maintenance
-        input[3] = cachedPctTraffic;  // pct_hightraffic
-        input[4] = cachedPctShortcut;  // pct_shortcut
-        input[5] = cachedPctWall;  // pct_wall
+        // 2. Forward pass on the per-cell inputs
+        return forward(x, y, goalX, goalY, context, scratch.get());
+    }
 
-        // 3. Forward pass through the neural network
+    /**
+     * Scores all cells of an expansion with one map check and no allocation.
+     */
+    @Override
+    public void computeBatch(int[] xs, int[] ys, int count, int goalX, int goalY, GridMap map, double[] out) {
+        if (!modelLoaded) {
+            for (int n = 0; n < count; n++) {
+                out[n] = Math.abs(xs[n] - goalX) + Math.abs(ys[n] - goalY);
+            }
+            return;
+        }
+
+        MapContext context = contextFor(map);
+        double[] hidden1 = scratch.get();
+        for (int n = 0; n < count; n++) {
+            out[n] = forward(xs[n], ys[n], goalX, goalY, context, hidden1);
+        }
+    }
+
+    /**
+     * Forward pass with the map inputs already folded into the layer 1 biases.
+     * @param context The map's folded biases (and the map, for the box inputs).
+     * @param hidden1 Scratch for the first hidden layer (the calling thread's own).
+     */
+    private double forward(int x, int y, int goalX, int goalY, MapContext context, double[] hidden1) {
+        GridMap map = context.map;
+        double dx = Math.abs(x - goalX);
+        double dy = Math.abs(y - goalY);
+        double manhattan = dx + dy;                      // manhattan_dist
+        double euclidean = Math.sqrt(dx * dx + dy * dy); // euclidean_dist
 
-        // Layer 1: Input -> Hidden1 (with ReLU activation)
-        double[] hidden1 = new double[hidden1Size];
+        // Layer 1: Input -> Hidden1 (with ReLU activation), two inputs left after folding
+        double[] biases = context.foldedBiases;
         for (int j = 0; j < hidden1Size; j++) {
-            double sum = layer1Biases[j];
-            for (int i = 0; i < inputSize; i++) {
-                sum += input[i] * layer1Weights[j][i];
-            }
-            hidden1[j] = relu(sum);
+            int row = j * inputSize;
+            double sum = biases[j] + manhattan * layer1Weights[row] + euclidean * layer1Weights[row + 1];
+            hidden1[j] = sum;
         }
 
-        // Layer 2: Hidden1 -> Hidden2 (with ReLU activation)
-        double[] hidden2 = new double[hidden2Size];
-        for (int j = 0; j < hidden2Size; j++) {
-            double sum = layer2Biases[j];
-            for (int i = 0; i < hidden1Size; i++) {
-                sum += hidden1[i] * layer2Weights[j][i];
+        // Box terrain between this cell and the goal (box_pct_maintenance .. box_pct_wall)
+        if (inputSize >= BOX_INPUTS_END) {
+            double boxMaintenance = map.getFractionInBox(CellType.MAINTENANCE, x, y, goalX, goalY);
+            double boxTraffic = map.getFractionInBox(CellType.HIGH_TRAFFIC, x, y, goalX, goalY);
+            double boxShortcut = map.getFractionInBox(CellType.SHORTCUT, x, y, goalX, goalY);
+            double boxWall = map.getFractionInBox(CellType.WALL, x, y, goalX, goalY);
+            for (int j = 0; j < hidden1Size; j++) {
+                int row = j * inputSize + MAP_INPUTS_END;
+                hidden1[j] += boxMaintenance * layer1Weights[row] + boxTraffic * layer1Weights[row + 1]
+                        + boxShortcut * layer1Weights[row + 2] + boxWall * layer1Weights[row + 3];
             }
-            hidden2[j] = relu(sum);
+        }
+        for (int j = 0; j < hidden1Size; j++) {
+            hidden1[j] = hidden1[j] > 0 ? hidden1[j] : 0;
         }
 
+        // Layer 2: Hidden1 -> Hidden2 (with ReLU activation), fed straight into
         // Layer 3: Hidden2 -> Output (linear, no activation)
         double output = layer3Bias;
-        for (int i = 0; i < hidden2Size; i++) {
-            output += hidden2[i] * layer3Weights[i];
+        for (int k = 0; k < hidden2Size; k++) {
+            int row = k * hidden1Size;
+            double sum = layer2Biases[k];
+            for (int j = 0; j < hidden1Size; j++) {
+                sum += hidden1[j] * layer2Weights[row + j];
+            }
+            if (sum > 0) {
+                output += sum * layer3Weights[k];
+            }
         }
 
-        // 4. Safety checks - heuristics cannot be negative
-        return Math.max(0, output);
+        // Safety checks - heuristics cannot be negative
+        return output > 0 ? output : 0;
     }
 }
-
@@ -1,5 +1,6 @@
 package algorithm;
 
+import model.CellType;
 import model.GridMap;
 import model.Node;
 
@@ -7,6 +8,12 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
 
+/**
+ * Linear regression heuristic trained by ML.py (weights in a properties file).
+ * The weights are only written by the constructor and per-map state lives in an immutable
+ * context, so one instance can serve any number of concurrent searches once it has been
+ * handed over safely.
+ */
 public class MachineLearnedHeuristic implements Heuristic {
 
     // Path to the file generated by Python
@@ -20,6 +27,13 @@ public class MachineLearnedHeuristic implements Heuristic {
     private double wShortcut = 0.0;
     private double wWall = 0.0;
     private double intercept = 0.0;
+
+    // Optional weights on the terrain in the node-goal bounding box (0 in older weight files)
+    private double wBoxMaintenance = 0.0;
+    private double wBoxTraffic = 0.0;
+    private double wBoxShortcut = 0.0;
+    private double wBoxWall = 0.0;
+    private boolean usesBoxFeatures = false;
     
     private String modelType = "Unknown";
 
@@ -40,13 +54,23 @@ public class MachineLearnedHeuristic implements Heuristic {
         loadModelWeights();
     }
 
-    // Optimization: Cache the terrain percentages for the current map
-    // so we don't re-calculate them for every node in the path.
-    private GridMap cachedMap = null;
-    private double cachedPctMaintenance = 0.0;
-    private double cachedPctTraffic = 0.0;
-    private double cachedPctShortcut = 0.0;
-    private double cachedPctWall = 0.0;
+    // Terrain term of the current map, replaced (never mutated) when another map comes in
+    private volatile MapContext mapContext = null;
+
+    /**
+     * Immutable per-map part of the regression: the terrain percentages times their weights,
+     * plus the intercept. Searches on other threads read it without locking; if two threads
+     * race on a new map, each builds an equal context and either one may win.
+     */
+    private static final class MapContext {
+        final GridMap map;
+        final double terrainTerm;
+
+        MapContext(GridMap map, double terrainTerm) {
+            this.map = map;
+            this.terrainTerm = terrainTerm;
+        }
+    }
 
     private void loadModelWeights() {
         Properties props = new Properties();
@@ -63,6 +87,11 @@ public class MachineLearnedHeuristic implements Heuristic {
             this.wShortcut    = Double.parseDouble(props.getProperty("W_SHORTCUT", "0.0"));
             this.wWall        = Double.parseDouble(props.getProperty("W_WALL", "0.0"));
             this.intercept    = Double.parseDouble(props.getProperty("INTERCEPT", "0.0"));
+            this.wBoxMaintenance = Double.parseDouble(props.getProperty("W_BOX_MAINTENANCE", "0.0"));
+            this.wBoxTraffic     = Double.parseDouble(props.getProperty("W_BOX_TRAFFIC", "0.0"));
+            this.wBoxShortcut    = Double.parseDouble(props.getProperty("W_BOX_SHORTCUT", "0.0"));
+            this.wBoxWall        = Double.parseDouble(props.getProperty("W_BOX_WALL", "0.0"));
+            this.usesBoxFeatures = wBoxMaintenance != 0 || wBoxTraffic != 0 || wBoxShortcut != 0 || wBoxWall != 0;
 
             this.modelLoaded = true;
             System.out.println("✅ [ML Heuristic] Model weights loaded from " + configFile);
@@ -74,6 +103,12 @@ public class MachineLearnedHeuristic implements Heuristic {
                              ", Shortcut=" + String.format("%.4f", wShortcut) +
                              ", Wall=" + String.format("%.4f", wWall) +
                              ", Intercept=" + String.format("%.4f", intercept));
+            if (usesBoxFeatures) {
+                System.out.println("   Box weights: Maint=" + String.format("%.4f", wBoxMaintenance) +
+                                 ", Traffic=" + String.format("%.4f", wBoxTraffic) +
+                                 ", Shortcut=" + String.format("%.4f", wBoxShortcut) +
+                                 ", Wall=" + String.format("%.4f", wBoxWall));
+            }
 
         } catch (IOException e) {
             System.err.println("⚠️ [ML Heuristic] Could not find '" + configFile + "'. Defaulting to standard Manhattan.");
@@ -84,29 +119,36 @@ public class MachineLearnedHeuristic implements Heuristic {
     }
 
     /**
-     * Caches the terrain percentages for the current map.
-     * This runs only ONCE per map to avoid redundant calculations.
+     * Returns the terrain term for this map, computing it only when the map changes.
+     * The percentages are map-level constants (read from the map's type histogram).
      */
-    private void updateMapEnvironment(GridMap map) {
-        if (map == cachedMap) return; // Optimization: Already calculated for this map
-
-        // Fetch percentages (these are map-level constants, not distance-dependent)
-        this.cachedPctMaintenance = map.getPercentMaintenance();
-        this.cachedPctTraffic     = map.getPercentHighTraffic();
-        this.cachedPctShortcut    = map.getPercentShortcut();
-        this.cachedPctWall        = map.getPercentWall();
-
-        this.cachedMap = map;
+    private MapContext contextFor(GridMap map) {
+        MapContext context = mapContext;
+        if (context == null || context.map != map) {
+            double terrainTerm = (map.getPercentMaintenance() * wMaintenance) +
+                    (map.getPercentHighTraffic() * wTraffic) +
+                    (map.getPercentShortcut() * wShortcut) +
+                    (map.getPercentWall() * wWall) +
+                    intercept;
+            context = new MapContext(map, terrainTerm);
+            mapContext = context;
+        }
+        return context;
     }
 
     @Override
     public double compute(Node current, Node goal, GridMap map) {
-        // 1. Update Map Context (cache terrain percentages)
-        updateMapEnvironment(map);
+        return compute(current.x, current.y, goal.x, goal.y, map);
+    }
+
+    @Override
+    public double compute(int x, int y, int goalX, int goalY, GridMap map) {
+        // 1. Map Context (terrain percentages, computed once per map)
+        MapContext context = contextFor(map);
 
         // 2. Calculate Geometry Features
-        double dx = Math.abs(current.x - goal.x);
-        double dy = Math.abs(current.y - goal.y);
+        double dx = Math.abs(x - goalX);
+        double dy = Math.abs(y - goalY);
         double manhattan = dx + dy;
         double euclidean = Math.sqrt(dx * dx + dy * dy);
 
@@ -114,15 +156,20 @@ public class MachineLearnedHeuristic implements Heuristic {
         // This MUST match exactly what Python trained on:
         // optimal_cost = w1*manhattan + w2*euclidean + w3*pct_maintenance + 
         //                w4*pct_hightraffic + w5*pct_shortcut + w6*pct_wall + intercept
+        //                (+ w7..w10 * box_pct_* for models trained with box features)
         // 
         // NOTE: Terrain percentages are added directly as features, NOT multiplied by distance!
         double predictedCost = (manhattan * wManhattan) +
                 (euclidean * wEuclidean) +
-                (cachedPctMaintenance * wMaintenance) +
-                (cachedPctTraffic * wTraffic) +
-                (cachedPctShortcut * wShortcut) +
-                (cachedPctWall * wWall) +
-                intercept;
+                context.terrainTerm;
+
+        // Terrain between this node and the goal: O(1) per type from GridMap's summed-area tables
+        if (usesBoxFeatures) {
+            predictedCost += map.getFractionInBox(CellType.MAINTENANCE, x, y, goalX, goalY) * wBoxMaintenance
+                    + map.getFractionInBox(CellType.HIGH_TRAFFIC, x, y, goalX, goalY) * wBoxTraffic
+                    + map.getFractionInBox(CellType.SHORTCUT, x, y, goalX, goalY) * wBoxShortcut
+                    + map.getFractionInBox(CellType.WALL, x, y, goalX, goalY) * wBoxWall;
+        }
 
         // 4. Safety Checks
         // Heuristics cannot be negative
@@ -11,6 +11,16 @@ public class ManhattanHeuristic implements Heuristic {
 
     @Override
     public double compute(Node a, Node b, GridMap map) {
-        return Math.abs(a.x - b.x) + Math.abs(a.y - b.y);
+        return compute(a.x, a.y, b.x, b.y, map);
+    }
+
+    @Override
+    public double compute(int x, int y, int goalX, int goalY, GridMap map) {
+        return Math.abs(x - goalX) + Math.abs(y - goalY);
+    }
+
+    @Override
+    public boolean isQuantized() {
+        return true;
     }
 }
\ No newline at end of file
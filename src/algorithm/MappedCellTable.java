@@ -0,0 +1,60 @@
+package algorithm;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Per-cell G-score, parent and seen flag kept in a memory-mapped temp file instead of the heap.
+ * 16 bytes per cell: G (double), parent (int), seen (int). A fresh file reads as zeros, so every
+ * cell starts unseen without an initialization pass; the OS pages the table in and out as needed.
+ * The file is deleted when the table is closed.
+ */
+class MappedCellTable implements AutoCloseable {
+
+    private static final int RECORD_BYTES = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    MappedCellTable(int cellCount) throws IOException {
+        long bytes = (long) cellCount * RECORD_BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Map too large for one mapped cell table (" + cellCount + " cells)");
+        }
+        Path file = Files.createTempFile("astar-cells-", ".bin");
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+    }
+
+    boolean isSeen(int cell) {
+        return buffer.getInt(cell * RECORD_BYTES + 12) != 0;
+    }
+
+    /**
+     * @return The best known G-score, or +Infinity if the cell was not reached yet.
+     */
+    double getG(int cell) {
+        return isSeen(cell) ? buffer.getDouble(cell * RECORD_BYTES) : Double.POSITIVE_INFINITY;
+    }
+
+    int getParent(int cell) {
+        return buffer.getInt(cell * RECORD_BYTES + 8);
+    }
+
+    void setG(int cell, double g, int parent) {
+        int base = cell * RECORD_BYTES;
+        buffer.putDouble(base, g);
+        buffer.putInt(base + 8, parent);
+        buffer.putInt(base + 12, 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
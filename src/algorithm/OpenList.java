@@ -0,0 +1,42 @@
+package algorithm;
+
+/**
+ * Strategy interface for the Open Set of the array-based solvers.
+ * Entries are flat cell indices ordered by F-cost, with the lower H-cost breaking ties
+ * (same ordering as Node.compareTo).
+ */
+public interface OpenList {
+
+    /**
+     * Inserts a cell, or lowers its priority if it is already queued.
+     * @param cell Flat cell index.
+     * @param f The F-cost (primary key).
+     * @param h The H-cost (tie-breaker).
+     */
+    void push(int cell, double f, double h);
+
+    /**
+     * Removes and returns the best cell. Only valid after {@link #isEmpty()} returned false.
+     */
+    int pop();
+
+    /**
+     * @return true if no live cell is queued.
+     */
+    boolean isEmpty();
+
+    /**
+     * @return true if the cell is currently queued.
+     */
+    boolean contains(int cell);
+
+    /**
+     * @return Number of entries held in memory (stale duplicates included for lazy lists).
+     */
+    int size();
+
+    /**
+     * Empties the list so the same instance can serve another search on a map of the same size.
+     */
+    void clear();
+}
@@ -0,0 +1,51 @@
+package algorithm;
+
+import model.CellType;
+
+/**
+ * Selectable Open Set implementations for the array-based solvers.
+ */
+public enum OpenListType {
+
+    // Re-pushes improved cells and skips stale copies on poll (AStar's "Lazy Deletion")
+    LAZY_HEAP {
+        @Override
+        public OpenList create(int cellCount) {
+            return new LazyBinaryHeap(cellCount);
+        }
+    },
+
+    // 4-ary heap with a position array per cell: true decrease-key, O(1) contains
+    INDEXED_HEAP {
+        @Override
+        public OpenList create(int cellCount) {
+            return new IndexedHeap(cellCount);
+        }
+    },
+
+    // Circular bucket queue over half-unit F-costs: O(1) push/pop, quantized heuristics only
+    BUCKET_QUEUE {
+        @Override
+        public OpenList create(int cellCount) {
+            return new BucketQueue(cellCount, CellType.COST_QUANTUM);
+        }
+
+        @Override
+        public OpenListType resolveFor(Heuristic heuristic) {
+            // Fractional estimates (Euclidean, ML...) cannot be bucketed: fall back to the heap
+            return heuristic.isQuantized() ? this : INDEXED_HEAP;
+        }
+    };
+
+    /**
+     * Creates an empty Open Set able to hold every cell of a map with {@code cellCount} cells.
+     */
+    public abstract OpenList create(int cellCount);
+
+    /**
+     * @return The implementation to actually use with this heuristic (itself unless unsupported).
+     */
+    public OpenListType resolveFor(Heuristic heuristic) {
+        return this;
+    }
+}
@@ -15,8 +15,8 @@ import java.util.List;
 public abstract class PathFinder {
 
     // 4-Directional Movement (Up, Down, Left, Right)
-    private static final int[] DX = {0, 0, -1, 1};
-    private static final int[] DY = {-1, 1, 0, 0};
+    protected static final int[] DX = {0, 0, -1, 1};
+    protected static final int[] DY = {-1, 1, 0, 0};
 
     /**
      * Main entry point for calculation.
@@ -79,4 +79,28 @@ public abstract class PathFinder {
         Collections.reverse(path);
         return path;
     }
+
+    /**
+     * Builds the Node path for the array-based solvers, which only keep parent indices.
+     * @param goalCell Flat index of the goal cell.
+     * @param parents Parent index per cell (-1 marks the start).
+     * @param gScores Best known cost per cell.
+     * @param map The grid map (for index -> coordinate conversion).
+     * @return The ordered path from Start to End.
+     */
+    protected List<Node> reconstructPath(int goalCell, int[] parents, double[] gScores, GridMap map) {
+        Node end = null;
+        Node child = null;
+        for (int cell = goalCell; cell != -1; cell = parents[cell]) {
+            Node node = new Node(map.indexToX(cell), map.indexToY(cell));
+            node.g = gScores[cell];
+            if (child == null) {
+                end = node;
+            } else {
+                child.parent = node;
+            }
+            child = node;
+        }
+        return reconstructPath(end);
+    }
 }
\ No newline at end of file
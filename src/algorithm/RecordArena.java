@@ -0,0 +1,340 @@
+package algorithm;
+
+/**
+ * Fixed-size pool of search records for the byte-budgeted solvers.
+ * Each record is packed into six longs of one preallocated array:
+ *
+ *   word 0: cell index (low 32 bits) | parent slot (high 32 bits, -1 = none)
+ *   word 1: G-cost (double bits)
+ *   word 2: F-cost (double bits)
+ *   word 3: child count (bits 0-2) | pending directions (bits 3-6) | depth (bits 7-31) |
+ *           H-cost (high 32 bits, float bits; only breaks ties)
+ *   word 4-5: F-cost remembered for each direction (float bits, two per word, rounded down so
+ *           they stay lower bounds)
+ *
+ * Open records sit in an {@link IntMinMaxHeap} of slots (best and worst in O(log n)), and a
+ * cell-index hash finds the record of a cell. Nothing is allocated after construction, so the footprint
+ * reported by {@link #footprintBytes()} is the whole cost of a search.
+ *
+ * Not thread-safe: use one arena per thread ({@link SearchContext#recordArena(int)}).
+ */
+final class RecordArena {
+
+    private static final int WORDS_PER_RECORD = 6;
+    private static final long LOW_BITS = 0xFFFFFFFFL;
+    private static final long CHILD_BITS = 0x7L;
+    private static final int PENDING_SHIFT = 3;
+    private static final long PENDING_BITS = 0xFL << PENDING_SHIFT;
+    private static final int DEPTH_SHIFT = 7;
+    private static final long DEPTH_BITS = 0x1FFFFFFL << DEPTH_SHIFT;
+
+    private final int capacity;
+    private final long[] words;
+
+    // Free slots (stack)
+    private final int[] freeSlots;
+    private int freeCount;
+
+    // Open Set: min-max heap of slots
+    private final IntMinMaxHeap openSet;
+
+    // Cell index -> slot of its record
+    private final CellIndexMap cellSlots;
+
+    RecordArena(int capacity) {
+        this.capacity = capacity;
+        this.words = new long[capacity * WORDS_PER_RECORD];
+        this.freeSlots = new int[capacity];
+        this.openSet = new IntMinMaxHeap(capacity, this::less);
+        this.cellSlots = new CellIndexMap(capacity);
+        reset();
+    }
+
+    /**
+     * @return Bytes held by an arena of the given capacity.
+     */
+    static long footprintBytes(int capacity) {
+        // 6 longs + free stack + heap slot + heap position per record, plus the cell hash
+        return (8L * WORDS_PER_RECORD + 12L) * capacity + CellIndexMap.footprintFor(capacity);
+    }
+
+    /**
+     * @return The largest capacity whose footprint fits in the budget (0 if none).
+     */
+    static int capacityFor(long budgetBytes) {
+        int low = 0;
+        long high = Math.min(budgetBytes / (8L * WORDS_PER_RECORD + 12L), Integer.MAX_VALUE / WORDS_PER_RECORD);
+        while (low < high) {
+            int mid = (int) ((low + high + 1) >>> 1);
+            if (footprintBytes(mid) <= budgetBytes) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    long footprintBytes() {
+        return footprintBytes(capacity);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Frees every record and empties the Open Set.
+     */
+    void reset() {
+        openSet.clear();
+        cellSlots.clear();
+        for (int i = 0; i < capacity; i++) {
+            freeSlots[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+    }
+
+    // --- Records ---
+
+    /**
+     * @return Number of live records.
+     */
+    int size() {
+        return capacity - freeCount;
+    }
+
+    boolean isFull() {
+        return freeCount == 0;
+    }
+
+    /**
+     * Stores a new record (not yet open) for a cell that has none, one level below its parent.
+     * @return Its slot, or -1 if the arena is full.
+     */
+    int allocate(int cell, int parent, double g, double f, double h) {
+        if (freeCount == 0) {
+            return -1;
+        }
+        int slot = freeSlots[--freeCount];
+        int base = slot * WORDS_PER_RECORD;
+        words[base] = ((long) parent << 32) | (cell & LOW_BITS);
+        words[base + 1] = Double.doubleToRawLongBits(g);
+        words[base + 2] = Double.doubleToRawLongBits(f);
+        words[base + 3] = (long) Float.floatToRawIntBits((float) h) << 32;
+        setDepth(slot, parent < 0 ? 0 : depth(parent) + 1);
+        words[base + 4] = 0;
+        words[base + 5] = 0;
+        cellSlots.put(cell, slot);
+        return slot;
+    }
+
+    /**
+     * Releases a record (removing it from the Open Set if needed).
+     */
+    void free(int slot) {
+        openSet.remove(slot);
+        cellSlots.remove(cell(slot));
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * @return true if the slot holds a record (freed slots keep their stale words).
+     */
+    boolean isLive(int slot) {
+        return cellSlots.get(cell(slot)) == slot;
+    }
+
+    /**
+     * @return The slot holding the cell's record, or -1.
+     */
+    int slotOf(int cell) {
+        return cellSlots.get(cell);
+    }
+
+    int cell(int slot) {
+        return (int) words[slot * WORDS_PER_RECORD];
+    }
+
+    int parent(int slot) {
+        return (int) (words[slot * WORDS_PER_RECORD] >> 32);
+    }
+
+    /**
+     * Moves the record under another parent (one level below it).
+     */
+    void setParent(int slot, int parent) {
+        int base = slot * WORDS_PER_RECORD;
+        words[base] = ((long) parent << 32) | (words[base] & LOW_BITS);
+        setDepth(slot, depth(parent) + 1);
+    }
+
+    /**
+     * @return Number of ancestors of the record.
+     */
+    int depth(int slot) {
+        return (int) ((words[slot * WORDS_PER_RECORD + 3] & DEPTH_BITS) >>> DEPTH_SHIFT);
+    }
+
+    private void setDepth(int slot, int depth) {
+        int base = slot * WORDS_PER_RECORD + 3;
+        words[base] = (words[base] & ~DEPTH_BITS) | (((long) depth << DEPTH_SHIFT) & DEPTH_BITS);
+    }
+
+    double g(int slot) {
+        return Double.longBitsToDouble(words[slot * WORDS_PER_RECORD + 1]);
+    }
+
+    void setG(int slot, double g) {
+        words[slot * WORDS_PER_RECORD + 1] = Double.doubleToRawLongBits(g);
+    }
+
+    double f(int slot) {
+        return Double.longBitsToDouble(words[slot * WORDS_PER_RECORD + 2]);
+    }
+
+    /**
+     * Changes the F-cost, re-keying the record if it is open.
+     */
+    void setF(int slot, double f) {
+        words[slot * WORDS_PER_RECORD + 2] = Double.doubleToRawLongBits(f);
+        openSet.update(slot);
+    }
+
+    double h(int slot) {
+        return Float.intBitsToFloat((int) (words[slot * WORDS_PER_RECORD + 3] >>> 32));
+    }
+
+    int children(int slot) {
+        return (int) (words[slot * WORDS_PER_RECORD + 3] & CHILD_BITS);
+    }
+
+    void addChildren(int slot, int delta) {
+        int base = slot * WORDS_PER_RECORD + 3;
+        long word = words[base];
+        words[base] = (word & ~CHILD_BITS) | ((word + delta) & CHILD_BITS);
+    }
+
+    /**
+     * @return Bit d set: the successor in direction d is still to be (re)generated.
+     */
+    int pending(int slot) {
+        return (int) ((words[slot * WORDS_PER_RECORD + 3] & PENDING_BITS) >>> PENDING_SHIFT);
+    }
+
+    void setPending(int slot, int directions) {
+        int base = slot * WORDS_PER_RECORD + 3;
+        words[base] = (words[base] & ~PENDING_BITS) | (((long) directions << PENDING_SHIFT) & PENDING_BITS);
+    }
+
+    /**
+     * @return The F-cost remembered for a direction (0 if none).
+     */
+    double forgottenF(int slot, int direction) {
+        long word = words[slot * WORDS_PER_RECORD + 4 + (direction >> 1)];
+        int bits = (int) ((direction & 1) == 0 ? word : word >>> 32);
+        return Float.intBitsToFloat(bits);
+    }
+
+    /**
+     * Remembers an F-cost for a direction, rounded down to a float.
+     */
+    void setForgottenF(int slot, int direction, double f) {
+        float value = (float) f;
+        if (value > f) {
+            value = Math.nextDown(value);
+        }
+        long bits = Float.floatToRawIntBits(value) & LOW_BITS;
+        int index = slot * WORDS_PER_RECORD + 4 + (direction >> 1);
+        if ((direction & 1) == 0) {
+            words[index] = (words[index] & ~LOW_BITS) | bits;
+        } else {
+            words[index] = (words[index] & LOW_BITS) | (bits << 32);
+        }
+    }
+
+    /**
+     * Forgets every remembered F-cost (after the record's G-cost was lowered).
+     */
+    void clearForgottenF(int slot) {
+        int base = slot * WORDS_PER_RECORD;
+        words[base + 4] = 0;
+        words[base + 5] = 0;
+    }
+
+    // --- Open Set ---
+
+    boolean isOpen(int slot) {
+        return openSet.contains(slot);
+    }
+
+    int openCount() {
+        return openSet.size();
+    }
+
+    /**
+     * Adds a record to the Open Set (keyed by its current F-cost).
+     */
+    void open(int slot) {
+        if (!openSet.contains(slot)) {
+            openSet.add(slot);
+        }
+    }
+
+    void close(int slot) {
+        openSet.remove(slot);
+    }
+
+    int peekMin() {
+        return openSet.peekMin();
+    }
+
+    int pollMin() {
+        return openSet.pollMin();
+    }
+
+    int pollMax() {
+        return openSet.pollMax();
+    }
+
+    /**
+     * Removes the worst open record that can be pruned: one without children and with a parent.
+     * Only valid while the arena is full, which leaves the free-slot stack empty to hold the
+     * skipped entries until they are reopened.
+     * @return The slot (still allocated, no longer open), or -1 if no open record qualifies.
+     */
+    int pollWorstLeaf() {
+        if (freeCount != 0) {
+            throw new IllegalStateException("Pruning is only needed when the arena is full");
+        }
+        int victim = -1;
+        int skipped = 0;
+        while (!openSet.isEmpty()) {
+            int slot = openSet.pollMax();
+            if (children(slot) == 0 && parent(slot) >= 0) {
+                victim = slot;
+                break;
+            }
+            freeSlots[skipped++] = slot;
+        }
+        for (int i = 0; i < skipped; i++) {
+            open(freeSlots[i]);
+        }
+        return victim;
+    }
+
+    // F-cost first, then the deeper record (classic SMA* order), then lower H-cost as in
+    // Node.compareTo. Records without parents all sit at depth 0 and keep the Node order.
+    private boolean less(int a, int b) {
+        int comparison = Double.compare(f(a), f(b));
+        if (comparison != 0) {
+            return comparison < 0;
+        }
+        int depthA = depth(a);
+        int depthB = depth(b);
+        if (depthA != depthB) {
+            return depthA > depthB;
+        }
+        return h(a) < h(b);
+    }
+}
@@ -0,0 +1,135 @@
+package algorithm;
+
+import model.Node;
+
+import java.util.Arrays;
+
+/**
+ * Double-ended Open Set for SMA*: an {@link IntMinMaxHeap} over Nodes (Node.compareTo order) plus
+ * a cell-index hash of their ids.
+ * Best-pop and worst-prune are both O(log n), and the duplicate check per successor is
+ * O(1) instead of a linear scan.
+ */
+class SMAFrontier {
+
+    // Queued Nodes by id (the heap entries); freed ids are reused
+    private Node[] nodes;
+    private int[] freeIds;
+    private int freeCount = 0;
+    private int nextId = 0;
+    private int width;
+
+    private final IntMinMaxHeap heap;
+
+    // Cell index -> id
+    private final CellIndexMap ids;
+
+    SMAFrontier(int expectedSize) {
+        int capacity = Math.max(16, expectedSize + 1);
+        this.nodes = new Node[capacity];
+        this.freeIds = new int[capacity];
+        this.heap = new IntMinMaxHeap(capacity, this::less);
+        this.ids = new CellIndexMap(expectedSize + 1);
+    }
+
+    /**
+     * Empties the frontier for a new search on a map of the given width.
+     */
+    void reset(int width) {
+        Arrays.fill(nodes, 0, nextId, null);
+        nextId = 0;
+        freeCount = 0;
+        heap.clear();
+        ids.clear();
+        this.width = width;
+    }
+
+    void add(Node node) {
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            if (nextId == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nextId * 2);
+                freeIds = Arrays.copyOf(freeIds, nextId * 2);
+            }
+            id = nextId++;
+        }
+        nodes[id] = node;
+        ids.put(cellOf(node), id);
+        heap.add(id);
+    }
+
+    /**
+     * @return The queued Node at the same cell, or null.
+     */
+    Node get(Node probe) {
+        int id = ids.get(cellOf(probe));
+        return id < 0 ? null : nodes[id];
+    }
+
+    /**
+     * Restores the heap order after the caller changed a queued Node's f/h.
+     */
+    void update(Node node) {
+        int id = ids.get(cellOf(node));
+        if (id >= 0) {
+            // Re-inserted rather than re-keyed in place, which keeps the order among equal keys
+            nodes[id] = node;
+            heap.remove(id);
+            heap.add(id);
+        }
+    }
+
+    /**
+     * Removes the queued Node at the same cell, if any.
+     */
+    void remove(Node node) {
+        int id = ids.get(cellOf(node));
+        if (id >= 0) {
+            heap.remove(id);
+            release(id);
+        }
+    }
+
+    Node peekMin() {
+        return nodes[heap.peekMin()];
+    }
+
+    Node pollMin() {
+        return release(heap.pollMin());
+    }
+
+    Node pollMax() {
+        return release(heap.pollMax());
+    }
+
+    boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    private int cellOf(Node node) {
+        return node.y * width + node.x;
+    }
+
+    /**
+     * Frees an id that is no longer in the heap.
+     * @return The Node it held.
+     */
+    private Node release(int id) {
+        Node node = nodes[id];
+        nodes[id] = null;
+        ids.remove(cellOf(node));
+        freeIds[freeCount++] = id;
+        return node;
+    }
+
+    // Same ordering as Collections.sort in the list version: F-cost, then H-cost
+    private boolean less(int a, int b) {
+        return nodes[a].compareTo(nodes[b]) < 0;
+    }
+}
@@ -3,8 +3,6 @@ package algorithm;
 import model.GridMap;
 import model.Node;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public class SMAStar extends PathFinder {
@@ -26,15 +24,24 @@ public class SMAStar extends PathFinder {
      * @param timeoutMs Maximum execution time in milliseconds.
      */
     public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs) {
+        return solve(map, heuristic, timeoutMs, SearchContext.forCurrentThread());
+    }
+
+    /**
+     * Same as {@link #solve(GridMap, Heuristic, long)}, reusing the frontier held by the context.
+     */
+    public SolverResult solve(GridMap map, Heuristic heuristic, long timeoutMs, SearchContext context) {
         // Use nanoTime() for better precision (microsecond-level instead of millisecond-level)
         long startTime = System.nanoTime();
         long timeoutNs = timeoutMs * 1_000_000L; // Convert timeout to nanoseconds
 
-        List<Node> openSet = new ArrayList<>(maxMemory + 1);
+        // Min-max heap: best node and worst node both in O(log n), duplicates found by cell hash
+        SMAFrontier openSet = context.smaFrontier(map.getWidth(), maxMemory + 4);
 
         int nodesExpanded = 0;
         int prunedNodes = 0;
 
+        // Fresh copies: search state never touches the (possibly shared) map
         Node start = map.getStartNode();
         Node goal = map.getGoalNode();
 
@@ -61,8 +68,7 @@ public class SMAStar extends PathFinder {
             }
 
             // Standard SMA* Logic
-            Collections.sort(openSet);
-            Node current = openSet.get(0);
+            Node current = openSet.peekMin();
 
             if (current.equals(goal)) {
                 List<Node> path = reconstructPath(current);
@@ -74,7 +80,7 @@ public class SMAStar extends PathFinder {
                 );
             }
 
-            openSet.remove(0);
+            openSet.pollMin();
             nodesExpanded++;
 
             List<Node> neighbors = getNeighbors(current, map);
@@ -84,35 +90,32 @@ public class SMAStar extends PathFinder {
                 successor.f = successor.g + successor.h;
                 successor.parent = current;
 
-                // Update if exists (simplified for list structure)
-                boolean inMemory = false;
-                for (Node n : openSet) {
-                    if (n.equals(successor)) {
-                        inMemory = true;
-                        if (successor.g < n.g) {
-                            n.g = successor.g;
-                            n.f = successor.f;
-                            n.parent = successor.parent;
-                        }
-                        break;
+                // Update if exists (O(1) lookup through the cell hash)
+                Node inMemory = openSet.get(successor);
+                if (inMemory != null) {
+                    if (successor.g < inMemory.g) {
+                        inMemory.g = successor.g;
+                        inMemory.f = successor.f;
+                        inMemory.parent = successor.parent;
+                        openSet.update(inMemory);
                     }
-                }
-
-                if (!inMemory) {
+                } else {
                     openSet.add(successor);
                 }
             }
 
             // Pruning Logic
             while (openSet.size() > maxMemory) {
-                Collections.sort(openSet);
-                Node worstNode = openSet.get(openSet.size() - 1);
+                Node worstNode = openSet.pollMax();
 
                 if (worstNode.parent != null) {
                     worstNode.parent.f = worstNode.f;
+                    // The parent may itself be queued again: keep the heap ordered
+                    if (openSet.get(worstNode.parent) == worstNode.parent) {
+                        openSet.update(worstNode.parent);
+                    }
                 }
 
-                openSet.remove(openSet.size() - 1);
                 prunedNodes++;
             }
         }
@@ -0,0 +1,180 @@
+package algorithm;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Reusable per-thread search state for the array-based solvers.
+ * Owns the per-cell G-score, parent and closed arrays plus the Open Sets, and resets them
+ * in O(1) by bumping a generation counter: a cell's entries are only valid while its stamp
+ * equals the current generation, so nothing has to be cleared between runs.
+ *
+ * Not thread-safe: use one context per thread ({@link #forCurrentThread()}).
+ */
+public final class SearchContext {
+
+    private static final ThreadLocal<SearchContext> CURRENT = ThreadLocal.withInitial(SearchContext::new);
+
+    private double[] gScores = new double[0];
+    private int[] parents = new int[0];
+    private int[] visitedStamps = new int[0];
+    private int[] closedStamps = new int[0];
+    private int generation = 0;
+    private int capacity = 0;
+
+    private final Map<OpenListType, OpenList> openLists = new EnumMap<>(OpenListType.class);
+
+    // SMA* Open Set (sized by memory limit, not by map, so it lives outside reset())
+    private SMAFrontier smaFrontier = null;
+
+    // Record pool of the byte-budgeted solvers (sized by budget, also outside reset())
+    private RecordArena recordArena = null;
+
+    // Backward half of bidirectional searches (created on first use)
+    private SearchContext reverse = null;
+
+    // Additional indexed heaps of multi-queue searches (created on first use)
+    private IndexedHeap[] extraHeaps = new IndexedHeap[0];
+
+    /**
+     * @return The context owned by the calling thread (created on first use).
+     */
+    public static SearchContext forCurrentThread() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Prepares the context for a new search over {@code cellCount} cells.
+     * Arrays only grow (when a bigger map arrives); otherwise this is O(1) plus emptying
+     * whatever the previous run left in its Open Sets.
+     */
+    public void reset(int cellCount) {
+        if (cellCount > capacity) {
+            capacity = cellCount;
+            gScores = new double[capacity];
+            parents = new int[capacity];
+            visitedStamps = new int[capacity];
+            closedStamps = new int[capacity];
+            openLists.clear();
+            extraHeaps = new IndexedHeap[0];
+            generation = 0;
+        } else {
+            for (OpenList openList : openLists.values()) {
+                openList.clear();
+            }
+            for (IndexedHeap heap : extraHeaps) {
+                if (heap != null) {
+                    heap.clear();
+                }
+            }
+        }
+
+        if (generation == Integer.MAX_VALUE) {
+            // Stamp wrap-around: the only time the arrays are actually cleared
+            Arrays.fill(visitedStamps, 0);
+            Arrays.fill(closedStamps, 0);
+            generation = 0;
+        }
+        generation++;
+    }
+
+    /**
+     * @return The empty Open Set of the given type, sized for the current capacity.
+     */
+    public OpenList openList(OpenListType type) {
+        return openLists.computeIfAbsent(type, t -> t.create(capacity));
+    }
+
+    /**
+     * @return The SMA* frontier, emptied for a search on a map of the given width.
+     */
+    SMAFrontier smaFrontier(int width, int expectedSize) {
+        if (smaFrontier == null) {
+            smaFrontier = new SMAFrontier(expectedSize);
+        }
+        smaFrontier.reset(width);
+        return smaFrontier;
+    }
+
+    /**
+     * @return The empty additional heap number {@code index}, for solvers that need more than one
+     *         queue over the same cells.
+     */
+    IndexedHeap extraHeap(int index) {
+        if (index >= extraHeaps.length) {
+            extraHeaps = Arrays.copyOf(extraHeaps, index + 1);
+        }
+        if (extraHeaps[index] == null) {
+            extraHeaps[index] = new IndexedHeap(capacity);
+        }
+        return extraHeaps[index];
+    }
+
+    /**
+     * @return The companion context for the backward direction of a bidirectional search.
+     */
+    SearchContext reverse() {
+        if (reverse == null) {
+            reverse = new SearchContext();
+        }
+        return reverse;
+    }
+
+    /**
+     * @return An emptied record arena with the given capacity (reused while the capacity matches).
+     */
+    RecordArena recordArena(int capacity) {
+        if (recordArena == null || recordArena.capacity() != capacity) {
+            recordArena = new RecordArena(capacity);
+        } else {
+            recordArena.reset();
+        }
+        return recordArena;
+    }
+
+    public boolean isVisited(int cell) {
+        return visitedStamps[cell] == generation;
+    }
+
+    /**
+     * @return The best known G-score, or +Infinity if the cell was not reached in this run.
+     */
+    public double getG(int cell) {
+        return visitedStamps[cell] == generation ? gScores[cell] : Double.POSITIVE_INFINITY;
+    }
+
+    public int getParent(int cell) {
+        return parents[cell];
+    }
+
+    /**
+     * Records a (better) G-score and parent for the cell.
+     */
+    public void setG(int cell, double g, int parent) {
+        gScores[cell] = g;
+        parents[cell] = parent;
+        visitedStamps[cell] = generation;
+    }
+
+    public boolean isClosed(int cell) {
+        return closedStamps[cell] == generation;
+    }
+
+    public void close(int cell) {
+        closedStamps[cell] = generation;
+    }
+
+    public void reopen(int cell) {
+        closedStamps[cell] = generation - 1;
+    }
+
+    // Raw views for path reconstruction (only entries of visited cells are meaningful)
+    double[] gScores() {
+        return gScores;
+    }
+
+    int[] parents() {
+        return parents;
+    }
+}
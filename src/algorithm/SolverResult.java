@@ -12,16 +12,23 @@ public class SolverResult {
     public final double totalCost;
     public final int nodesExpanded;
     public final int prunedNodes;
+    public final int regeneratedNodes; // SMA*: forgotten nodes generated again (thrashing)
     public final int memoryUsed;
     public final boolean isSuccess;
     public final long timeElapsedMs; // Optional but useful for internal tracking
 
     public SolverResult(List<Node> path, double totalCost, int nodesExpanded,
                         int prunedNodes, int memoryUsed, boolean isSuccess, long timeElapsedMs) {
+        this(path, totalCost, nodesExpanded, prunedNodes, 0, memoryUsed, isSuccess, timeElapsedMs);
+    }
+
+    public SolverResult(List<Node> path, double totalCost, int nodesExpanded, int prunedNodes,
+                        int regeneratedNodes, int memoryUsed, boolean isSuccess, long timeElapsedMs) {
         this.path = path != null ? path : Collections.emptyList();
         this.totalCost = totalCost;
         this.nodesExpanded = nodesExpanded;
         this.prunedNodes = prunedNodes;
+        this.regeneratedNodes = regeneratedNodes;
         this.memoryUsed = memoryUsed;
         this.isSuccess = isSuccess;
         this.timeElapsedMs = timeElapsedMs;
@@ -30,4 +37,9 @@ public class SolverResult {
     public static SolverResult failure(int nodesExpanded, int prunedNodes, int memoryUsed, long timeMs) {
         return new SolverResult(null, 0.0, nodesExpanded, prunedNodes, memoryUsed, false, timeMs);
     }
+
+    public static SolverResult failure(int nodesExpanded, int prunedNodes, int regeneratedNodes,
+                                       int memoryUsed, long timeMs) {
+        return new SolverResult(null, 0.0, nodesExpanded, prunedNodes, regeneratedNodes, memoryUsed, false, timeMs);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package algorithm;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Open Set with a bounded in-heap hot window and an unbounded cold part on disk.
+ *
+ * The hot window is a {@link RecordArena} (min-max heap with decrease-key by cell). When it is
+ * full, its worst half is written as one F-sorted run to a memory-mapped spill file instead of
+ * being thrown away. Popping takes the better of the hot minimum and the heads of the runs, so
+ * entries come out in F-cost order across both tiers. Cold entries are lazy duplicates: the
+ * caller drops a popped entry whose G-score is no longer the best known one.
+ * The spill file is deleted when the list is closed.
+ */
+class SpillingOpenList implements AutoCloseable {
+
+    // Cold entry: cell (int), G (double), F (double)
+    private static final int ENTRY_BYTES = 20;
+    private static final long INITIAL_SPILL_BYTES = 1L << 20;
+
+    private final RecordArena hot;
+
+    private final FileChannel channel;
+    private MappedByteBuffer cold;
+    private int writePos = 0;
+
+    // Active runs: read position and end offset in the spill file
+    private int[] runPos = new int[8];
+    private int[] runEnd = new int[8];
+    private int runCount = 0;
+
+    private int poppedCell;
+    private double poppedG;
+
+    private int spilledEntries = 0;
+    private int peakHot = 0;
+
+    SpillingOpenList(int hotCapacity) throws IOException {
+        this.hot = new RecordArena(Math.max(2, hotCapacity));
+        Path file = Files.createTempFile("astar-open-", ".bin");
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+        this.cold = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_SPILL_BYTES);
+    }
+
+    /**
+     * Queues the cell, or lowers its key if it is already in the hot window.
+     */
+    void push(int cell, double g, double h) throws IOException {
+        int slot = hot.slotOf(cell);
+        if (slot >= 0) {
+            if (g < hot.g(slot)) {
+                hot.setG(slot, g);
+                hot.setF(slot, g + h);
+            }
+            return;
+        }
+        if (hot.isFull()) {
+            spillWorstHalf();
+        }
+        hot.open(hot.allocate(cell, -1, g, g + h, h));
+        peakHot = Math.max(peakHot, hot.size());
+    }
+
+    boolean isEmpty() {
+        return hot.openCount() == 0 && runCount == 0;
+    }
+
+    /**
+     * Removes the entry with the lowest F-cost; read it with {@link #poppedCell()} / {@link #poppedG()}.
+     */
+    void pop() {
+        int bestRun = -1;
+        double bestF = Double.POSITIVE_INFINITY;
+        for (int r = 0; r < runCount; r++) {
+            double f = cold.getDouble(runPos[r] + 12);
+            if (f < bestF) {
+                bestF = f;
+                bestRun = r;
+            }
+        }
+
+        if (bestRun >= 0 && (hot.openCount() == 0 || bestF < hot.f(hot.peekMin()))) {
+            int pos = runPos[bestRun];
+            poppedCell = cold.getInt(pos);
+            poppedG = cold.getDouble(pos + 4);
+            runPos[bestRun] = pos + ENTRY_BYTES;
+            if (runPos[bestRun] == runEnd[bestRun]) {
+                removeRun(bestRun);
+            }
+        } else {
+            int slot = hot.pollMin();
+            poppedCell = hot.cell(slot);
+            poppedG = hot.g(slot);
+            hot.free(slot);
+        }
+    }
+
+    int poppedCell() {
+        return poppedCell;
+    }
+
+    double poppedG() {
+        return poppedG;
+    }
+
+    /**
+     * @return Entries moved from the hot window to disk so far.
+     */
+    int spilledEntries() {
+        return spilledEntries;
+    }
+
+    /**
+     * @return Peak number of hot (in-heap) entries.
+     */
+    int peakHot() {
+        return peakHot;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Writes the worst half of the hot window as one run, ascending by F-cost.
+     */
+    private void spillWorstHalf() throws IOException {
+        int count = Math.max(1, hot.capacity() / 2);
+        int start = reserve(count * ENTRY_BYTES);
+
+        // pollMax yields descending F-costs, so fill the run from its end
+        for (int i = count - 1; i >= 0; i--) {
+            int slot = hot.pollMax();
+            int pos = start + i * ENTRY_BYTES;
+            cold.putInt(pos, hot.cell(slot));
+            cold.putDouble(pos + 4, hot.g(slot));
+            cold.putDouble(pos + 12, hot.f(slot));
+            hot.free(slot);
+        }
+
+        if (runCount == runPos.length) {
+            runPos = Arrays.copyOf(runPos, runCount * 2);
+            runEnd = Arrays.copyOf(runEnd, runCount * 2);
+        }
+        runPos[runCount] = start;
+        runEnd[runCount] = start + count * ENTRY_BYTES;
+        runCount++;
+        spilledEntries += count;
+    }
+
+    /**
+     * @return The file offset of {@code bytes} free bytes at the end of the spill file.
+     */
+    private int reserve(int bytes) throws IOException {
+        long needed = (long) writePos + bytes;
+        if (needed > Integer.MAX_VALUE) {
+            throw new IOException("Spill file limit reached (" + needed + " bytes)");
+        }
+        if (needed > cold.capacity()) {
+            long size = Math.min(Integer.MAX_VALUE, Math.max(needed, 2L * cold.capacity()));
+            cold = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        int start = writePos;
+        writePos += bytes;
+        return start;
+    }
+
+    private void removeRun(int r) {
+        runCount--;
+        runPos[r] = runPos[runCount];
+        runEnd[r] = runEnd[runCount];
+        if (runCount == 0) {
+            writePos = 0; // Every run is consumed: reuse the file from the start
+        }
+    }
+}
@@ -14,6 +14,7 @@ public class DataExporter {
     private static final String OUTPUT_DIR = "final_output";
     private static final String CSV_FILE = OUTPUT_DIR + File.separator + "benchmark_results.csv";
     private static final String JSONL_FILE = OUTPUT_DIR + File.separator + "training_data.jsonl";
+    private static final String ANYTIME_CSV_FILE = OUTPUT_DIR + File.separator + "anytime_curves.csv";
 
     private static final DataExporter INSTANCE = new DataExporter();
 
@@ -36,33 +37,72 @@ public class DataExporter {
         File csv = new File(CSV_FILE);
         if (!csv.exists()) {
             try (BufferedWriter writer = new BufferedWriter(new FileWriter(csv))) {
-                writer.write("MapID,Algorithm,Heuristic,MapSize,Difficulty,MemoryLimit,Success,Status,Cost,OptimalCost,NodesExpanded,PrunedNodes,Time_ns,MemoryUsed\n");
+                writer.write("MapID,Algorithm,Heuristic,MapSize,Difficulty,MemoryLimit,Success,Status,Cost,OptimalCost,NodesExpanded,PrunedNodes,Time_ns,MemoryUsed,MemoryLimitBytes,MemoryUsedBytes\n");
             } catch (IOException e) { 
                 System.err.println("Error creating CSV file: " + e.getMessage());
                 e.printStackTrace(); 
             }
         }
 
+        // Init anytime curve CSV Header
+        File anytimeCsv = new File(ANYTIME_CSV_FILE);
+        if (!anytimeCsv.exists()) {
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(anytimeCsv))) {
+                writer.write("MapID,Algorithm,Heuristic,MapSize,Difficulty,Deadline_ms,Solution,Weight,Cost,OptimalCost,Bound,Elapsed_ns,NodesExpanded\n");
+            } catch (IOException e) {
+                System.err.println("Error creating anytime CSV file: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+
         // Init JSONL (We append to it, so no header needed here)
         // File will be created automatically on first write
     }
 
-    // --- CSV Benchmark Method (Unchanged) ---
+    // --- CSV Benchmark Method: memory in nodes (the byte columns are left at -1) ---
     public synchronized void writeBenchmarkRecord(String mapId, String algo, String heuristic,
                                                   String mapSize, String difficulty, int memoryLimit,
                                                   boolean success, String status,
                                                   double cost, double optimalCost,
                                                   int expanded, int pruned, long timeNs, int memoryUsed) {
+        writeBenchmarkRecord(mapId, algo, heuristic, mapSize, difficulty, memoryLimit,
+                success, status, cost, optimalCost, expanded, pruned, timeNs, memoryUsed, -1, -1);
+    }
+
+    // --- Same row with the memory budget and peak in bytes (-1 where not measured) ---
+    public synchronized void writeBenchmarkRecord(String mapId, String algo, String heuristic,
+                                                  String mapSize, String difficulty, int memoryLimit,
+                                                  boolean success, String status,
+                                                  double cost, double optimalCost,
+                                                  int expanded, int pruned, long timeNs, int memoryUsed,
+                                                  long memoryLimitBytes, long memoryUsedBytes) {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(CSV_FILE, true))) {
-            String line = String.format("%s,%s,%s,%s,%s,%d,%b,%s,%.2f,%.2f,%d,%d,%d,%d\n",
+            String line = String.format("%s,%s,%s,%s,%s,%d,%b,%s,%.2f,%.2f,%d,%d,%d,%d,%d,%d\n",
                     mapId, algo, heuristic, mapSize, difficulty, memoryLimit,
-                    success, status, cost, optimalCost, expanded, pruned, timeNs, memoryUsed);
+                    success, status, cost, optimalCost, expanded, pruned, timeNs, memoryUsed,
+                    memoryLimitBytes, memoryUsedBytes);
             writer.write(line);
         } catch (IOException e) {
             System.err.println("Error CSV: " + e.getMessage());
         }
     }
 
+    // --- Anytime Curve Method: one row per published solution (quality vs time) ---
+    public synchronized void writeAnytimeRecord(String mapId, String algo, String heuristic,
+                                                String mapSize, String difficulty, long deadlineMs,
+                                                int solution, double weight,
+                                                double cost, double optimalCost, double bound,
+                                                long elapsedNs, int expanded) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(ANYTIME_CSV_FILE, true))) {
+            String line = String.format("%s,%s,%s,%s,%s,%d,%d,%.2f,%.2f,%.2f,%.4f,%d,%d\n",
+                    mapId, algo, heuristic, mapSize, difficulty, deadlineMs,
+                    solution, weight, cost, optimalCost, bound, elapsedNs, expanded);
+            writer.write(line);
+        } catch (IOException e) {
+            System.err.println("Error anytime CSV: " + e.getMessage());
+        }
+    }
+
     // --- ML Data Method (Updated for your CellType) ---
     public synchronized void appendMLData(String mapId, GridMap map, Node start, Node goal, double optimalCost) {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(JSONL_FILE, true))) {
@@ -86,7 +126,8 @@ public class DataExporter {
 
             // Features for ML
             // IMPORTANT: Order must match ML.py features list:
-            // [manhattan_dist, euclidean_dist, pct_maintenance, pct_hightraffic, pct_shortcut, pct_wall]
+            // [manhattan_dist, euclidean_dist, pct_maintenance, pct_hightraffic, pct_shortcut, pct_wall,
+            //  box_pct_maintenance, box_pct_hightraffic, box_pct_shortcut, box_pct_wall]
             json.append("\"manhattan_dist\": ").append(manhattan).append(", ");
             json.append("\"euclidean_dist\": ").append(String.format("%.4f", euclidean)).append(", ");
             json.append("\"pct_maintenance\": ").append(String.format("%.4f", stats.maintenancePct)).append(", ");
@@ -94,6 +135,13 @@ public class DataExporter {
             json.append("\"pct_shortcut\": ").append(String.format("%.4f", stats.shortcutPct)).append(", ");
             json.append("\"pct_wall\": ").append(String.format("%.4f", stats.wallPct)).append(", ");
 
+            // Terrain in the bounding box between start and goal (summed-area tables, O(1)),
+            // in the same order as the map-wide shares: indices 6..9 of the feature vector
+            json.append("\"box_pct_maintenance\": ").append(String.format("%.4f", map.getFractionInBox(CellType.MAINTENANCE, start.x, start.y, goal.x, goal.y))).append(", ");
+            json.append("\"box_pct_hightraffic\": ").append(String.format("%.4f", map.getFractionInBox(CellType.HIGH_TRAFFIC, start.x, start.y, goal.x, goal.y))).append(", ");
+            json.append("\"box_pct_shortcut\": ").append(String.format("%.4f", map.getFractionInBox(CellType.SHORTCUT, start.x, start.y, goal.x, goal.y))).append(", ");
+            json.append("\"box_pct_wall\": ").append(String.format("%.4f", map.getFractionInBox(CellType.WALL, start.x, start.y, goal.x, goal.y))).append(", ");
+
             // The Label
             json.append("\"optimal_cost\": ").append(String.format("%.2f", optimalCost));
             json.append("}\n");
@@ -108,35 +156,15 @@ public class DataExporter {
         double wallPct, maintenancePct, highTrafficPct, shortcutPct;
     }
 
+    /**
+     * Reads the map's type histogram (O(1), no scan of the grid).
+     */
     private MapStats calculateMapStats(GridMap map) {
-        int total = map.getWidth() * map.getHeight();
-        int walls = 0;
-        int maintenance = 0;
-        int highTraffic = 0;
-        int shortcuts = 0;
-
-        for(int y=0; y<map.getHeight(); y++) {
-            for(int x=0; x<map.getWidth(); x++) {
-                CellType type = map.getCellType(x, y);
-
-                // MAPPING YOUR ENUMS HERE
-                if (type == CellType.WALL) {
-                    walls++;
-                } else if (type == CellType.MAINTENANCE) {
-                    maintenance++;
-                } else if (type == CellType.HIGH_TRAFFIC) {
-                    highTraffic++;
-                } else if (type == CellType.SHORTCUT) {
-                    shortcuts++;
-                }
-            }
-        }
-
         MapStats stats = new MapStats();
-        stats.wallPct = (double) walls / total;
-        stats.maintenancePct = (double) maintenance / total;
-        stats.highTrafficPct = (double) highTraffic / total;
-        stats.shortcutPct = (double) shortcuts / total;
+        stats.wallPct = map.getPercent(CellType.WALL);
+        stats.maintenancePct = map.getPercent(CellType.MAINTENANCE);
+        stats.highTrafficPct = map.getPercent(CellType.HIGH_TRAFFIC);
+        stats.shortcutPct = map.getPercent(CellType.SHORTCUT);
         return stats;
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package model;
+
+/**
+ * Receives terrain edits made through {@link GridMap#setCellType} and {@link GridMap#setCellTypes}.
+ * Called on the editing thread, after the edit is applied.
+ */
+public interface CellChangeListener {
+
+    /**
+     * @param cells Flat indices of the cells whose type actually changed (one call per batch).
+     */
+    void cellsChanged(GridMap map, int[] cells);
+
+    /**
+     * The whole layout was replaced (regenerated or loaded from text); any state derived
+     * from the old layout is stale.
+     */
+    default void mapReplaced(GridMap map) {
+    }
+}
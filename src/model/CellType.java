@@ -15,6 +15,11 @@ public enum CellType {
     START('S', 0.0),
     GOAL('G', 0.0);
 
+    /**
+     * Every finite cost above is a multiple of this, so path costs are exact half-units.
+     */
+    public static final double COST_QUANTUM = 0.5;
+
     private final char symbol;
     private final double cost;
 
@@ -1,21 +1,85 @@
 package model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
+/**
+ * Grid of CellTypes with a start and a goal cell.
+ * The map holds terrain only: solvers keep their per-search state (g, h, f, parents)
+ * in their own Nodes or arrays, and {@link #getStartNode()} / {@link #getGoalNode()}
+ * hand out fresh copies. Use {@link #snapshot()} to share one map between threads.
+ * Terrain can be edited in place ({@link #setCellType}, {@link #setCellTypes}); registered
+ * {@link CellChangeListener}s hear about every edit so incremental solvers can repair their state.
+ */
 public class GridMap {
     private int width;
     private int height;
     private CellType[][] grid;
-    private Node startNode;
-    private Node goalNode;
 
-    // Cached flatten string for export performance
-    private String cachedLayout = null;
+    // Number of cells of each CellType (by ordinal), kept in step with every write to the grid
+    private int[] typeCounts = new int[CellType.values().length];
+
+    // Start/Goal coordinates (-1 = not set)
+    private int startX = -1;
+    private int startY = -1;
+    private int goalX = -1;
+    private int goalY = -1;
+
+    // Snapshots reject every mutation
+    private boolean frozen = false;
+
+    // Cached flatten string for export performance (immutable, so a racy init is harmless)
+    private volatile String cachedLayout = null;
+
+    // Summed-area table per CellType (by ordinal), each built on the first box query for its type
+    // and dropped by edits that add or remove that type. The outer array is copied on write, so
+    // every published array is immutable and a racy init only costs a rebuild
+    private volatile int[][] summedAreas = null;
+
+    // Not copied by snapshot(): a snapshot never changes
+    private final List<CellChangeListener> listeners = new ArrayList<>();
 
     public GridMap() {
         // Empty constructor
     }
 
+    /**
+     * Returns an immutable, deep copy of this map.
+     * Solvers never write into a GridMap, so any number of threads can search the same
+     * snapshot concurrently once it has been handed over safely (e.g. through an executor).
+     * Mutators throw IllegalStateException on a snapshot.
+     */
+    public GridMap snapshot() {
+        GridMap copy = new GridMap();
+        copy.width = width;
+        copy.height = height;
+        copy.grid = new CellType[height][];
+        for (int y = 0; y < height; y++) {
+            copy.grid[y] = grid[y].clone();
+        }
+        copy.startX = startX;
+        copy.startY = startY;
+        copy.goalX = goalX;
+        copy.goalY = goalY;
+        copy.cachedLayout = cachedLayout;
+        copy.summedAreas = summedAreas;
+        copy.typeCounts = typeCounts.clone();
+        copy.frozen = true;
+        return copy;
+    }
+
+    public boolean isSnapshot() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("GridMap snapshot is immutable");
+        }
+    }
+
     /**
      * EXISTING METHOD (Preserved)
      * Other classes (like your Main.java) still use this.
@@ -60,10 +124,13 @@ public class GridMap {
      * Seed-based version for deterministic map generation.
      */
     public void generateAdvanced(int width, int height, double wallProb, double mudProb, double trafficProb, double shortcutProb, long seed) {
+        checkMutable();
         this.width = width;
         this.height = height;
         this.grid = new CellType[height][width];
         this.cachedLayout = null;
+        this.summedAreas = null;
+        Arrays.fill(typeCounts, 0);
         Random random = new Random(seed);
 
         for (int y = 0; y < height; y++) {
@@ -71,42 +138,50 @@ public class GridMap {
                 double roll = random.nextDouble();
 
                 // Determine cell type based on cumulative probability
+                CellType type;
                 if (roll < wallProb) {
-                    grid[y][x] = CellType.WALL;
+                    type = CellType.WALL;
                 } else if (roll < wallProb + mudProb) {
-                    grid[y][x] = CellType.MAINTENANCE;
+                    type = CellType.MAINTENANCE;
                 } else if (roll < wallProb + mudProb + trafficProb) {
-                    grid[y][x] = CellType.HIGH_TRAFFIC;
+                    type = CellType.HIGH_TRAFFIC;
                 } else if (roll < wallProb + mudProb + trafficProb + shortcutProb) {
-                    grid[y][x] = CellType.SHORTCUT;
+                    type = CellType.SHORTCUT;
                 } else {
-                    grid[y][x] = CellType.ROAD;
+                    type = CellType.ROAD;
                 }
+                grid[y][x] = type;
+                typeCounts[type.ordinal()]++;
             }
         }
 
         // Enforce Start (Top-Left) and Goal (Bottom-Right)
         setStartAndGoal(0, 0, width - 1, height - 1);
+        fireMapReplaced();
     }
 
     /**
      * Explicitly sets start and goal, overriding whatever terrain was there.
      */
     private void setStartAndGoal(int startX, int startY, int goalX, int goalY) {
-        grid[startY][startX] = CellType.START;
-        grid[goalY][goalX] = CellType.GOAL;
-        this.startNode = new Node(startX, startY);
-        this.goalNode = new Node(goalX, goalY);
+        replaceCell(startX, startY, CellType.START);
+        replaceCell(goalX, goalY, CellType.GOAL);
+        this.startX = startX;
+        this.startY = startY;
+        this.goalX = goalX;
+        this.goalY = goalY;
     }
 
-    // --- ALL EXISTING METHODS BELOW ARE UNTOUCHED ---
-
     public void setFromText(String layoutBlock) {
+        checkMutable();
         String[] lines = layoutBlock.trim().split("\\r?\\n");
         this.height = lines.length;
         this.width = lines.length > 0 ? lines[0].trim().length() : 0;
         this.grid = new CellType[height][width];
         this.cachedLayout = null;
+        this.summedAreas = null;
+        Arrays.fill(typeCounts, 0);
+        this.startX = this.startY = this.goalX = this.goalY = -1;
 
         for (int y = 0; y < height; y++) {
             String line = lines[y].trim();
@@ -114,14 +189,107 @@ public class GridMap {
                 char symbol = line.charAt(x);
                 CellType type = CellType.fromChar(symbol);
                 grid[y][x] = type;
+                typeCounts[type.ordinal()]++;
 
                 if (type == CellType.START) {
-                    this.startNode = new Node(x, y);
+                    this.startX = x;
+                    this.startY = y;
                 } else if (type == CellType.GOAL) {
-                    this.goalNode = new Node(x, y);
+                    this.goalX = x;
+                    this.goalY = y;
                 }
             }
         }
+        fireMapReplaced();
+    }
+
+    /**
+     * Changes the terrain of one cell and notifies the listeners (if the type actually changed).
+     * Preprocessed heuristics and abstractions built from this map go stale.
+     * @throws IllegalArgumentException If the cell is outside the map, is the start or goal, or
+     *         the new type is START or GOAL.
+     */
+    public void setCellType(int x, int y, CellType type) {
+        checkEditable(x, y, type);
+        setCellTypes(new int[]{toIndex(x, y)}, new CellType[]{type});
+    }
+
+    /**
+     * Applies a batch of terrain edits ({@code types[i]} goes to flat cell {@code cells[i]}) and
+     * notifies the listeners once with every cell that changed. The batch is validated first, so
+     * either every edit is applied or none is.
+     * @throws IllegalArgumentException As {@link #setCellType}, or if the arrays differ in length.
+     */
+    public void setCellTypes(int[] cells, CellType[] types) {
+        checkMutable();
+        if (cells.length != types.length) {
+            throw new IllegalArgumentException("Got " + cells.length + " cells but " + types.length + " types");
+        }
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] < 0 || cells[i] >= getCellCount()) {
+                throw new IllegalArgumentException("Cell " + cells[i] + " is outside the map");
+            }
+            checkEditable(indexToX(cells[i]), indexToY(cells[i]), types[i]);
+        }
+
+        int[] changed = new int[cells.length];
+        int changedCount = 0;
+        boolean[] typeTouched = new boolean[CellType.values().length];
+        for (int i = 0; i < cells.length; i++) {
+            int x = indexToX(cells[i]);
+            int y = indexToY(cells[i]);
+            if (grid[y][x] != types[i]) {
+                typeTouched[grid[y][x].ordinal()] = true;
+                typeTouched[types[i].ordinal()] = true;
+                replaceCell(x, y, types[i]);
+                changed[changedCount++] = cells[i];
+            }
+        }
+        if (changedCount == 0) {
+            return;
+        }
+        cachedLayout = null;
+        dropSummedAreas(typeTouched);
+        int[] notified = changedCount == changed.length ? changed : Arrays.copyOf(changed, changedCount);
+        for (CellChangeListener listener : new ArrayList<>(listeners)) {
+            listener.cellsChanged(this, notified);
+        }
+    }
+
+    /**
+     * Overwrites one cell, keeping the type histogram in step.
+     */
+    private void replaceCell(int x, int y, CellType type) {
+        typeCounts[grid[y][x].ordinal()]--;
+        grid[y][x] = type;
+        typeCounts[type.ordinal()]++;
+    }
+
+    private void checkEditable(int x, int y, CellType type) {
+        if (!isValid(x, y)) {
+            throw new IllegalArgumentException("Cell (" + x + ", " + y + ") is outside the map");
+        }
+        if (type == null || type == CellType.START || type == CellType.GOAL) {
+            throw new IllegalArgumentException("Cannot edit a cell into " + type);
+        }
+        if ((x == startX && y == startY) || (x == goalX && y == goalY)) {
+            throw new IllegalArgumentException("Cannot edit the start or goal cell");
+        }
+    }
+
+    public void addChangeListener(CellChangeListener listener) {
+        checkMutable();
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(CellChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireMapReplaced() {
+        for (CellChangeListener listener : new ArrayList<>(listeners)) {
+            listener.mapReplaced(this);
+        }
     }
 
     public double getCost(int x, int y) {
@@ -154,39 +322,145 @@ public class GridMap {
         return cachedLayout;
     }
     public double getPercentMaintenance() {
-        return (double) countCells(CellType.MAINTENANCE) / (width * height);
+        return getPercent(CellType.MAINTENANCE);
     }
 
     public double getPercentHighTraffic() {
-        return (double) countCells(CellType.HIGH_TRAFFIC) / (width * height);
+        return getPercent(CellType.HIGH_TRAFFIC);
     }
 
     public double getPercentShortcut() {
-        return (double) countCells(CellType.SHORTCUT) / (width * height);
+        return getPercent(CellType.SHORTCUT);
     }
 
     public double getPercentWall() {
-        return (double) countCells(CellType.WALL) / (width * height);
+        return getPercent(CellType.WALL);
+    }
+
+    /**
+     * @return Share of the map's cells that have the given type, in O(1).
+     */
+    public double getPercent(CellType type) {
+        return (double) countCells(type) / (width * height);
+    }
+
+    /**
+     * @return Number of cells of the given type, in O(1): the histogram is filled while the map
+     *         is generated or loaded and updated by every edit.
+     */
+    public int countCells(CellType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    /**
+     * Counts the cells of one type in the box spanned by two corner cells (inclusive, in either
+     * order; clamped to the map) in O(1), from a summed-area table built on the first call.
+     */
+    public int countInBox(CellType type, int x0, int y0, int x1, int y1) {
+        int minX = Math.max(0, Math.min(x0, x1));
+        int maxX = Math.min(width - 1, Math.max(x0, x1));
+        int minY = Math.max(0, Math.min(y0, y1));
+        int maxY = Math.min(height - 1, Math.max(y0, y1));
+        if (minX > maxX || minY > maxY) {
+            return 0;
+        }
+        int[] table = summedAreaTable(type);
+        int stride = width + 1;
+        return table[(maxY + 1) * stride + maxX + 1] - table[minY * stride + maxX + 1]
+                - table[(maxY + 1) * stride + minX] + table[minY * stride + minX];
+    }
+
+    /**
+     * Share of the cells in the box spanned by (x0, y0) and (x1, y1) that have the given type,
+     * e.g. the terrain between a cell and the goal. O(1), see {@link #countInBox}.
+     */
+    public double getFractionInBox(CellType type, int x0, int y0, int x1, int y1) {
+        int boxWidth = Math.min(width - 1, Math.max(x0, x1)) - Math.max(0, Math.min(x0, x1)) + 1;
+        int boxHeight = Math.min(height - 1, Math.max(y0, y1)) - Math.max(0, Math.min(y0, y1)) + 1;
+        if (boxWidth <= 0 || boxHeight <= 0) {
+            return 0.0;
+        }
+        return (double) countInBox(type, x0, y0, x1, y1) / (boxWidth * boxHeight);
     }
 
     /**
-     * Correctly iterates over the 2D grid to count specific cell types.
+     * @return The summed-area table of one CellType: entry (y + 1) * (width + 1) + (x + 1) counts
+     *         the cells of that type in [0, x] x [0, y]. Each table holds 4 bytes per cell (plus
+     *         one row and column), so only the types actually queried (the four ML feature types)
+     *         cost memory: 16 bytes per cell in practice, at most 4 bytes per CellType.
      */
-    private int countCells(CellType targetType) {
-        int count = 0;
+    private int[] summedAreaTable(CellType type) {
+        int[][] tables = summedAreas;
+        int ordinal = type.ordinal();
+        if (tables != null && tables[ordinal] != null) {
+            return tables[ordinal];
+        }
+        int stride = width + 1;
+        int[] table = new int[stride * (height + 1)];
         for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                // Check if the cell at [y][x] matches the type we want
-                if (grid[y][x] == targetType) {
-                    count++;
+            CellType[] row = grid[y];
+            int rowCount = 0;
+            int at = (y + 1) * stride + 1;
+            for (int x = 0; x < width; x++, at++) {
+                if (row[x] == type) {
+                    rowCount++;
                 }
+                table[at] = table[at - stride] + rowCount;
+            }
+        }
+        int[][] next = tables == null ? new int[CellType.values().length][] : tables.clone();
+        next[ordinal] = table;
+        summedAreas = next;
+        return table;
+    }
+
+    /**
+     * Forgets the summed-area tables of the marked types; the others still describe the map.
+     */
+    private void dropSummedAreas(boolean[] typeTouched) {
+        int[][] tables = summedAreas;
+        if (tables == null) {
+            return;
+        }
+        int[][] next = tables.clone();
+        for (int t = 0; t < next.length; t++) {
+            if (typeTouched[t]) {
+                next[t] = null;
             }
         }
-        return count;
+        summedAreas = next;
     }
 
+    /**
+     * Flat cell index ({@code y * width + x}) used by the array-based solvers.
+     */
+    public int toIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    public int indexToX(int index) { return index % width; }
+    public int indexToY(int index) { return index / width; }
+    public int getCellCount() { return width * height; }
+
     public int getWidth() { return width; }
     public int getHeight() { return height; }
-    public Node getStartNode() { return startNode; }
-    public Node getGoalNode() { return goalNode; }
+
+    /**
+     * @return A fresh Node at the start cell (owned by the caller), or null if none is set.
+     */
+    public Node getStartNode() {
+        return startX < 0 ? null : new Node(startX, startY);
+    }
+
+    /**
+     * @return A fresh Node at the goal cell (owned by the caller), or null if none is set.
+     */
+    public Node getGoalNode() {
+        return goalX < 0 ? null : new Node(goalX, goalY);
+    }
+
+    public int getStartX() { return startX; }
+    public int getStartY() { return startY; }
+    public int getGoalX() { return goalX; }
+    public int getGoalY() { return goalY; }
 }
\ No newline at end of file